@@ -0,0 +1,64 @@
+package com.learnway.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+// 비동기 작업용 스레드풀 설정
+// 전용 풀을 빈으로 등록하면 스프링부트 기본 applicationTaskExecutor 가 생성되지 않으므로 같이 등록해준다
+@Configuration
+@EnableAsync
+public class ExecutorConfig {
+
+    @Primary
+    @Bean(name = { "applicationTaskExecutor", "taskExecutor" })
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    // SSE 알림 발송 전용 풀 (요청 스레드에서 상담사 네트워크 속도에 묶이지 않도록 분리)
+    @Bean(name = "sseExecutor")
+    public ThreadPoolTaskExecutor sseExecutor(@Value("${learnway.sse.executor.pool-size:4}") int poolSize,
+                                              @Value("${learnway.sse.executor.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("sse-");
+        return executor;
+    }
+
+    // 대시보드처럼 여러 조회를 동시에 실행해 합치는 작업용 풀 (DB 커넥션 풀보다 작게 유지)
+    @Bean(name = "queryExecutor")
+    public ThreadPoolTaskExecutor queryExecutor(@Value("${learnway.query.executor.pool-size:4}") int poolSize,
+                                                @Value("${learnway.query.executor.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("query-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    // 커밋 이후 도메인 이벤트(예약 변경 등) 알림 처리 풀
+    // 큐가 가득 차면 이벤트를 버리지 않고 발행한 스레드에서 직접 처리 (자연스러운 속도 조절)
+    @Bean(name = "notificationExecutor")
+    public ThreadPoolTaskExecutor notificationExecutor(@Value("${learnway.notification.executor.pool-size:2}") int poolSize,
+                                                       @Value("${learnway.notification.executor.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("notification-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
@@ -0,0 +1,47 @@
+package com.learnway.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 메모 검색용 FULLTEXT(ngram) 인덱스 생성
+// ddl-auto 로는 FULLTEXT 인덱스를 만들 수 없어서 서버 시작시 없으면 추가
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemoFullTextIndexInitializer implements ApplicationRunner {
+
+    private static final String INDEX_NAME = "ft_memo";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${learnway.memo.fulltext.auto-create:true}")
+    private boolean autoCreate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!autoCreate) {
+            return;
+        }
+        try {
+            Integer count = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM information_schema.statistics "
+                            + "WHERE table_schema = DATABASE() AND table_name = 'memo' AND index_name = ?",
+                    Integer.class, INDEX_NAME);
+            if (count != null && count > 0) {
+                return;
+            }
+            jdbcTemplate.execute("ALTER TABLE memo ADD FULLTEXT INDEX " + INDEX_NAME
+                    + " (memo_title, memo_contents) WITH PARSER ngram");
+            log.info("메모 FULLTEXT 인덱스 생성 : {}", INDEX_NAME);
+        } catch (Exception e) {
+            // 인덱스가 없으면 검색 쿼리만 실패하므로 서버 기동은 계속
+            log.warn("메모 FULLTEXT 인덱스 생성 실패 : {}", e.toString());
+        }
+    }
+}
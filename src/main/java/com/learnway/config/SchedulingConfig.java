@@ -0,0 +1,35 @@
+package com.learnway.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+// @Scheduled 작업(알림 보관함 정리 등) 활성화
+// 전용 스케줄러 풀 사용 : 지정하지 않으면 WebSocket 의 messageBrokerTaskScheduler 나 스레드 1개짜리 기본 스케줄러를 쓰게 되어
+// 채팅 보관/로그 정리처럼 오래 걸리는 작업이 1초 리마인더 틱, SSE heartbeat 를 막는다
+@Configuration
+@EnableScheduling
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    @Value("${learnway.scheduling.pool-size:4}")
+    private int poolSize;
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduling-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(10);
+        return scheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.setTaskScheduler(taskScheduler());
+    }
+}
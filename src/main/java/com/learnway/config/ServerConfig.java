@@ -1,6 +1,7 @@
 package com.learnway.config;
 
 import org.apache.catalina.connector.Connector;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
 import org.springframework.boot.web.server.WebServerFactoryCustomizer;
 import org.springframework.context.annotation.Bean;
@@ -9,6 +10,10 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class ServerConfig {
 
+   // 한 PC 에서 서버 여러대를 띄울 수 있도록 HTTP 포트를 설정으로 분리
+   @Value("${learnway.http-port:8095}")
+   private int httpPort;
+
    @Bean
    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> servletContainer() {
        return server -> {
@@ -21,7 +26,7 @@ public class ServerConfig {
    // HTTP 커넥터 생성
    private Connector createStandardConnector() {
        Connector connector = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
-       connector.setPort(8095);  // HTTP 포트
+       connector.setPort(httpPort);  // HTTP 포트
        return connector;
    }
 }
\ No newline at end of file
@@ -16,9 +16,12 @@ public class WebSocketConfiguration implements WebSocketMessageBrokerConfigurer
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // 메시지 브로커가 구독할 대상 설정
-        config.enableSimpleBroker("/topic", "/sub");
+        // /queue 는 화상상담 시그널링처럼 특정 세션에만 보내는 1:1 메세지용
+        config.enableSimpleBroker("/topic", "/sub", "/queue");
         // 클라이언트에서 메시지를 서버로 보낼 때의 prefix 설정
         config.setApplicationDestinationPrefixes("/app", "/pub");
+        // 클라이언트는 /user/queue/** 로 구독하면 자기 세션 전용 목적지로 변환됨
+        config.setUserDestinationPrefix("/user");
     }
 
     // WebSocket 엔드포인트
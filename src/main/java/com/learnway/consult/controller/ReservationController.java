@@ -1,15 +1,11 @@
 package com.learnway.consult.controller;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.TextStyle;
-import java.time.temporal.ChronoField;
 import java.util.List;
-import java.util.Locale;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -26,13 +22,17 @@ import org.springframework.web.bind.annotation.RestController;
 import com.learnway.consult.domain.Consultant;
 import com.learnway.consult.domain.ConsultantRepository;
 import com.learnway.consult.domain.Memo;
+import com.learnway.consult.domain.MemoView;
 import com.learnway.consult.domain.ReservationEntity;
 import com.learnway.consult.dto.MemoRequest;
 import com.learnway.consult.dto.ReservationDTO;
 import com.learnway.consult.dto.ReservationRequest;
+import com.learnway.consult.dto.ReservationSlotDTO;
+import com.learnway.consult.dto.SlotSuggestionDTO;
 import com.learnway.consult.dto.UserInfoDTO;
 import com.learnway.consult.service.ConsultantDetails;
 import com.learnway.consult.service.ConsultantService;
+import com.learnway.consult.service.EarliestSlotMatcher;
 import com.learnway.consult.service.ReservationService;
 import com.learnway.member.domain.Member;
 import com.learnway.member.service.CustomUserDetails;
@@ -41,9 +41,6 @@ import com.learnway.member.service.CustomUserDetails;
 @RequestMapping("/api")
 public class ReservationController {
 	
-    @Autowired
-    private SseController sseController;
-	
 	@Autowired
     private ReservationService reservationService;
 	
@@ -52,6 +49,9 @@ public class ReservationController {
     
     @Autowired
     private ConsultantService consultantService;
+    
+    @Autowired
+    private EarliestSlotMatcher earliestSlotMatcher;
 	
     // 상담사페이지 예약리스트
     @GetMapping("/reservationsList")
@@ -66,6 +66,24 @@ public class ReservationController {
     	return reservationService.getReservationsListByConsultantId(member.getId());
     }
     
+    // 상담사페이지 예약 보드 (오늘부터 bookingStart 순 keyset 페이징, 다음 페이지는 마지막 예약의 bookingStart/id 전달)
+    @GetMapping("/reservationBoard")
+    public List<ReservationDTO> getReservationBoard(@RequestParam("consultant") Long consultant,
+                                                    @RequestParam(value = "after", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime after,
+                                                    @RequestParam(value = "afterId", required = false) Long afterId,
+                                                    @RequestParam(value = "size", defaultValue = "20") int size) {
+        return reservationService.getReservationBoard(consultant, after, afterId, size);
+    }
+    
+    // 상담사페이지 예약 보드 지난 예약 (오늘 이전, 최근순 keyset 페이징, 다음 페이지는 마지막(가장 오래된) 예약의 bookingStart/id 전달)
+    @GetMapping("/reservationBoard/past")
+    public List<ReservationDTO> getPastReservationBoard(@RequestParam("consultant") Long consultant,
+                                                        @RequestParam(value = "before", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+                                                        @RequestParam(value = "beforeId", required = false) Long beforeId,
+                                                        @RequestParam(value = "size", defaultValue = "20") int size) {
+        return reservationService.getPastReservationBoard(consultant, before, beforeId, size);
+    }
+    
     //상담사예약페이지에서 상담신청자 정보 조회
     @GetMapping("/users/{userId}")
     public UserInfoDTO users(@PathVariable("userId") Long userId) {
@@ -109,6 +127,50 @@ public class ReservationController {
     	return reservationService.getReservationsByConsultantId(consultant);
     }
     
+    // 예약 달력에 표시할 기간내 예약된 시간 (전체 예약이력 대신 보이는 주간만 조회)
+    @GetMapping("/reservations/busy")
+    public ResponseEntity<List<ReservationSlotDTO>> getBusySlots(@RequestParam("consultant") Long consultant,
+                                                                 @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                 @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                 Authentication authentication) {
+        Long memberId = null;
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            memberId = userDetails.getMember().getId();
+        }
+        try {
+            return ResponseEntity.ok(reservationService.getBusySlots(consultant, from, to, memberId));
+        } catch (IllegalArgumentException e) {
+            // 잘못되거나 너무 긴 기간
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // 특정상담사 기간내 예약 가능한(비어있는) 시간
+    @GetMapping("/reservations/free")
+    public ResponseEntity<List<ReservationSlotDTO>> getFreeSlots(@RequestParam("consultant") Long consultant,
+                                                                 @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                 @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            return ResponseEntity.ok(reservationService.getFreeSlots(consultant, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // 과목 담당 상담사 전체에서 가장 빨리 예약 가능한 시간 찾기
+    @GetMapping("/slots/earliest")
+    public ResponseEntity<List<SlotSuggestionDTO>> getEarliestSlots(@RequestParam("subject") String subject,
+                                                                    @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                    @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                    @RequestParam(value = "duration", defaultValue = "60") int duration,
+                                                                    @RequestParam(value = "limit", defaultValue = "5") int limit) {
+        try {
+            return ResponseEntity.ok(earliestSlotMatcher.findEarliest(subject, from, to, duration, Math.min(limit, 50)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     //예약취소메서드
     @DeleteMapping("/reservations/{deleteId}")
     public ResponseEntity<String> deleteReservations(@PathVariable("deleteId") Long deleteId,Authentication authentication) {
@@ -129,30 +191,8 @@ public class ReservationController {
         
         if(loginMemberId.equals(dbMemberId) && loginMemberPw.equals(dbMemberPw)) {
             
-        	reservationService.deleteById(deleteId);
-            
-            // 알림보내기
-            // 예약 생성 후 알림 발송
-            String name = deleteList.get().getMember().getMemberName();
-            Long consultantId = deleteList.get().getCounselor().getId();
-            LocalDateTime startTime = deleteList.get().getBookingStart();
-
-            DateTimeFormatter formatter = new DateTimeFormatterBuilder()
-                .appendText(ChronoField.MONTH_OF_YEAR, TextStyle.FULL_STANDALONE)
-                .appendLiteral(" ")
-                .appendValue(ChronoField.DAY_OF_MONTH)
-                .appendLiteral("일 ")
-                .appendValue(ChronoField.HOUR_OF_DAY)
-                .appendLiteral("시")
-                .toFormatter(Locale.KOREAN);
-
-            String formattedDate = startTime.format(formatter);
-            
-            String message = "취소알림"+"<br/>" + formattedDate + " " + name + " 님의" +"<br/>" +
-                             "예약이 취소되었습니다.";
-            System.out.println("3번 상담사아이디 표시 : " + consultantId);
-            
-            sseController.sendNotificationToConsultant(consultantId, message);
+            // 취소 알림은 커밋 이후 ReservationEventListener 에서 발송
+        	reservationService.cancel(deleteList.get());
             
             return ResponseEntity.ok("예약이 성공적으로 취소되었습니다.");
         } else {
@@ -182,28 +222,13 @@ public class ReservationController {
         reservation.setBookingStart(request.getBookingStart());
         reservation.setBookingEnd(request.getBookingEnd());
 
-        ReservationEntity savedReservation = reservationService.save(reservation);
-        
-        // 알림보내기
-        // 예약 생성 후 알림 발송
-        LocalDateTime startTime = request.getBookingStart();
-        LocalDateTime endTime = request.getBookingEnd();
-        
-        DateTimeFormatter formatter = new DateTimeFormatterBuilder()
-                .appendText(ChronoField.MONTH_OF_YEAR, TextStyle.FULL_STANDALONE)
-                .appendLiteral(" ")
-                .appendValue(ChronoField.DAY_OF_MONTH)
-                .appendLiteral("일 ")
-                .appendValue(ChronoField.HOUR_OF_DAY)
-                .appendLiteral("시")
-                .toFormatter(Locale.KOREAN);
-
-            String startFormatter = startTime.format(formatter);
-            String endFormatter = endTime.format(formatter);
-        
-        String message = "신규 예약이 있습니다."+"<br/>" + "예약자 성함 : " + reservation.getMember().getMemberName() +"<br/>" +
-                         "시작 시간 : " + startFormatter +"<br/>" +"종료 시간 : " + endFormatter;
-        sseController.sendNotificationToConsultant(reservation.getCounselor().getId(), message);
+        // 같은 시간대에 먼저 확정된 예약이 있으면 409 (ReservationConflictException)
+        ReservationEntity savedReservation;
+        try {
+            savedReservation = reservationService.save(reservation);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
 
         return ResponseEntity.ok(savedReservation);
     }
@@ -245,9 +270,11 @@ public class ReservationController {
         return ResponseEntity.status(HttpStatus.CREATED).body("메모저장 성공: " + memo.getMemoId());
     }
     
-    //메모리스트 조회요청
+    //메모리스트 조회요청 (최신순 페이지, 다음 페이지는 마지막 memoId 를 before 로 전달)
     @GetMapping("/memos")
-    public List<Memo> getMemo(Authentication authentication) {
+    public List<MemoView> getMemo(Authentication authentication,
+                                  @RequestParam(value = "before", required = false) Long before,
+                                  @RequestParam(value = "size", defaultValue = "20") int size) {
     	System.out.println("메모리스트조회 들어옴");
     	Consultant consultant = null;
     	if (authentication != null && authentication.isAuthenticated()) {
@@ -255,7 +282,21 @@ public class ReservationController {
     		consultant = userDetails.getConsultant();
     	}
     	
-        return consultantService.getMemoByConsultantId(consultant.getId());
+        return consultantService.getMemoPage(consultant.getId(), before, size);
+    }
+    
+    //메모 검색 요청
+    @GetMapping("/memos/search")
+    public List<MemoView> searchMemo(Authentication authentication,
+                                     @RequestParam("q") String q,
+                                     @RequestParam(value = "before", required = false) Long before,
+                                     @RequestParam(value = "size", defaultValue = "20") int size) {
+    	Consultant consultant = null;
+    	if (authentication != null && authentication.isAuthenticated()) {
+    		ConsultantDetails userDetails = (ConsultantDetails) authentication.getPrincipal();
+    		consultant = userDetails.getConsultant();
+    	}
+        return consultantService.searchMemos(consultant.getId(), q, before, size);
     }
     
     //메모 디테일창 및 수정폼 요청
@@ -1,17 +1,25 @@
 package com.learnway.consult.controller;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learnway.consult.service.CallSetupMetrics;
+import com.learnway.consult.service.VideoRoomRegistry;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -21,114 +29,189 @@ public class SignalingController {
 
 	//roomId 는 상담사 pk 값으로 정함
 	//camKey 는 로그인사용자 아이디(String)로함 <상담사 아이디 와 멤버 아이디> 
+	//시그널링 메세지는 전체 topic 이 아니라 같은 방 상대 세션의 /user/queue/** 로만 전달한다
 	
-    // 방(Room)별로 참여자 수를 관리하기 위한 맵
-    private Map<String, Set<String>> roomParticipants = new HashMap<>();
+    // 방(Room)별 참여자 관리 (세션 종료시 자동 퇴장, 장시간 미활동 정리)
+    @Autowired
+    private VideoRoomRegistry videoRoomRegistry;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    // offer -> answer -> connected 소요시간 측정
+    @Autowired
+    private CallSetupMetrics callSetupMetrics;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // 시그널링 로그는 N건 중 1건만 info 로 남김 (SDP/candidate 전문은 debug)
+    @Value("${learnway.video.log-sample-rate:100}")
+    private int logSampleRate;
+
+    private final AtomicLong signalCount = new AtomicLong();
     
     // offer 정보를 주고 받기 위한 websocket
     @MessageMapping("/peer/offer/{camKey}/{roomId}")
-    @SendTo("/topic/peer/offer/{camKey}/{roomId}")
-    public String PeerHandleOffer(@Payload String offer,
-                                  @DestinationVariable(value = "roomId") String roomId,
-                                  @DestinationVariable(value = "camKey") String camKey) {
-        System.out.println("1");
-        System.out.println("1번의 roomId" + roomId);
-        log.info("[OFFER] {} : {}", camKey, offer);
-        return offer;
+    public void PeerHandleOffer(@Payload String offer,
+                                @DestinationVariable(value = "roomId") String roomId,
+                                @DestinationVariable(value = "camKey") String camKey,
+                                SimpMessageHeaderAccessor headerAccessor) {
+        logSignal("OFFER", roomId, camKey, offer);
+        if (sendToPeer(roomId, camKey, headerAccessor.getSessionId(), "/queue/peer/offer", offer)) {
+            callSetupMetrics.offer(roomId);
+        }
     }
 
-    // iceCandidate 정보를 주고 받기 위한 webSocket
+    // iceCandidate 정보를 주고 받기 위한 webSocket (candidate 1개씩, 예전 클라이언트 호환용)
     @MessageMapping("/peer/iceCandidate/{camKey}/{roomId}")
-    @SendTo("/topic/peer/iceCandidate/{camKey}/{roomId}")
-    public String PeerHandleIceCandidate(@Payload String candidate,
-                                         @DestinationVariable(value = "roomId") String roomId,
-                                         @DestinationVariable(value = "camKey") String camKey) {
-        System.out.println("2");
-        System.out.println("2번의 roomId" + roomId);
-        log.info("[ICECANDIDATE] {} : {}", camKey, candidate);
-        return candidate;
+    public void PeerHandleIceCandidate(@Payload String candidate,
+                                       @DestinationVariable(value = "roomId") String roomId,
+                                       @DestinationVariable(value = "camKey") String camKey,
+                                       SimpMessageHeaderAccessor headerAccessor) {
+        logSignal("ICECANDIDATE", roomId, camKey, candidate);
+        if (sendToPeer(roomId, camKey, headerAccessor.getSessionId(), "/queue/peer/iceCandidate", candidate)) {
+            callSetupMetrics.iceCandidates(1);
+        }
+    }
+
+    // 짧은 시간 동안 모인 iceCandidate 들을 한 프레임으로 주고 받기 위한 webSocket
+    // payload : {"key": 보낸사람 camKey, "body": [candidate, ...]}
+    @MessageMapping("/peer/iceCandidates/{camKey}/{roomId}")
+    public void PeerHandleIceCandidates(@Payload String candidates,
+                                        @DestinationVariable(value = "roomId") String roomId,
+                                        @DestinationVariable(value = "camKey") String camKey,
+                                        SimpMessageHeaderAccessor headerAccessor) {
+        logSignal("ICECANDIDATES", roomId, camKey, candidates);
+        if (sendToPeer(roomId, camKey, headerAccessor.getSessionId(), "/queue/peer/iceCandidates", candidates)) {
+            callSetupMetrics.iceCandidates(countCandidates(candidates));
+        }
     }
 
     // peer answer 정보를 주고 받기 위한 webSocket
     @MessageMapping("/peer/answer/{camKey}/{roomId}")
-    @SendTo("/topic/peer/answer/{camKey}/{roomId}")
-    public String PeerHandleAnswer(@Payload String answer,
-                                   @DestinationVariable(value = "roomId") String roomId,
-                                   @DestinationVariable(value = "camKey") String camKey) {
-        System.out.println("3");
-        System.out.println("3번의 roomId" + roomId);
-        log.info("[ANSWER] {} : {}", camKey, answer);
-        return answer;
+    public void PeerHandleAnswer(@Payload String answer,
+                                 @DestinationVariable(value = "roomId") String roomId,
+                                 @DestinationVariable(value = "camKey") String camKey,
+                                 SimpMessageHeaderAccessor headerAccessor) {
+        logSignal("ANSWER", roomId, camKey, answer);
+        if (sendToPeer(roomId, camKey, headerAccessor.getSessionId(), "/queue/peer/answer", answer)) {
+            callSetupMetrics.answer(roomId);
+        }
     }
 
-    // camKey를 받기위해 신호를 보내는 webSocket
-    @MessageMapping("/call/key")
-    @SendTo("/topic/call/key")
-    public String callKey(@Payload String message) {
-        System.out.println("4");
-        log.info("[Key] : {}", message);
-        return message;
+    // 클라이언트 RTCPeerConnection 이 connected 상태가 되면 보고 (연결 준비 시간 측정용)
+    @MessageMapping("/peer/connected/{roomId}")
+    public void PeerConnected(@DestinationVariable(value = "roomId") String roomId,
+                              SimpMessageHeaderAccessor headerAccessor) {
+        if (videoRoomRegistry.isMember(roomId, headerAccessor.getSessionId())) {
+            callSetupMetrics.connected(roomId);
+        }
     }
 
-    // 자신의 camKey를 모든 연결된 세션에 보내는 webSocket
-    @MessageMapping("/send/key")
-    @SendTo("/topic/send/key")
-    public String sendKey(@Payload String message) {
-        System.out.println("5");
-        log.info("[Send Key] : {}", message);
-        return message;
+    // camKey를 받기위해 같은 방 참여자에게 신호를 보내는 webSocket
+    @MessageMapping("/call/key/{roomId}")
+    public void callKey(@Payload String message,
+                        @DestinationVariable(value = "roomId") String roomId,
+                        SimpMessageHeaderAccessor headerAccessor) {
+        log.debug("[Key] roomId={} : {}", roomId, message);
+        sendToRoom(roomId, headerAccessor.getSessionId(), "/queue/call/key", message);
     }
 
-    // 방(Room)에 참여하는 인원을 추적하고, 제한 조건을 설정할 메서드
+    // 자신의 camKey를 같은 방 참여자에게 보내는 webSocket
+    @MessageMapping("/send/key/{roomId}")
+    public void sendKey(@Payload String message,
+                        @DestinationVariable(value = "roomId") String roomId,
+                        SimpMessageHeaderAccessor headerAccessor) {
+        log.debug("[Send Key] roomId={} : {}", roomId, message);
+        sendToRoom(roomId, headerAccessor.getSessionId(), "/queue/send/key", message);
+    }
+
+    // 방(Room)에 참여하는 인원을 추적하고, 제한 조건을 설정할 메서드 (결과는 요청한 세션에만 전달)
     @MessageMapping("/join/room/{roomId}/{camKey}")
-    @SendTo("/topic/join/room/{roomId}/{camKey}")
+    @SendToUser(destinations = "/queue/join/room", broadcast = false)
     public String joinRoom(@DestinationVariable(value = "roomId") String roomId,
-                           @DestinationVariable(value = "camKey") String camKey) {
-        log.info("여기들어와?? : roomId={}, camKey={}", roomId, camKey);
-        System.out.println("join room 의 roomId : " + roomId);
-
-        // 해당 camKey에 대한 참여자 Set을 가져옴
-        roomParticipants.putIfAbsent(roomId, new HashSet<>());
-        Set<String> participants = roomParticipants.get(roomId);
-        log.info("현재 인원 수 : {}", participants.size());
-
-        // 방(Room)에 이미 camKey가 있는지 확인
-        if (participants.contains(camKey)) {
-            log.info("이미 참여 중인 사용자: {}", camKey);
+                           @DestinationVariable(value = "camKey") String camKey,
+                           SimpMessageHeaderAccessor headerAccessor) {
+        // 방(Room)에 참여 중인 인원 수 확인 현재 참여인원을 2명으로 제한 (이미 참여중이면 그대로 성공)
+        if (videoRoomRegistry.join(roomId, camKey, headerAccessor.getSessionId())) {
+            log.info("방 입장 : roomId={}, camKey={}", roomId, camKey);
             return "successfully";
-        }
- 
-        // 방(Room)에 참여 중인 인원 수 확인 현재 참여인원을 2명으로 제한
-        if (participants.size() >= 2) {
+        } else {
             // 방이 가득 찼음을 클라이언트에게 알립니다.
+            log.info("방 정원 초과 : roomId={}, camKey={}", roomId, camKey);
             return "full";
-        } else {
-            // 방(Room)에 참여자를 추가하고, 성공 메시지를 반환
-            participants.add(camKey);
-            System.out.println("입장 캠키 "+camKey);
-            return "successfully";
         }
     }
 
     // 방(Room)에서 사용자가 나가는 메서드
     @MessageMapping("/leave/room/{roomId}/{camKey}")
-    @SendTo("/topic/leave/room/{roomId}/{camKey}")
+    @SendToUser(destinations = "/queue/leave/room", broadcast = false)
     public String leaveRoom(@DestinationVariable(value = "roomId") String roomId,
-                            @DestinationVariable(value = "camKey") String camKey) {
-        log.info("leaveRoom: roomId={}, camKey={}", roomId, camKey);
-        Set<String> participants = roomParticipants.get(roomId);
-        if (participants != null) {
-            participants.remove(camKey);
-            System.out.println("나가기 캠키 "+camKey);
-            log.info("참여자가 방 나감: {}", camKey);
-            if (participants.isEmpty()) {
-                roomParticipants.remove(roomId);
-                log.info("방 참여인원없음 방삭제 : {}", roomId);
-            }
+                            @DestinationVariable(value = "camKey") String camKey,
+                            SimpMessageHeaderAccessor headerAccessor) {
+        if (videoRoomRegistry.leave(roomId, camKey, headerAccessor.getSessionId())) {
+            log.info("방 퇴장 : roomId={}, camKey={}", roomId, camKey);
             return "left";
         } else {
             log.info("해당 방 존재 ㄴㄴ: {}", roomId);
             return "not_found";
         }
     }
+
+    // 같은 방 참여자끼리만 상대 camKey 세션으로 1:1 전달 (전달했으면 true)
+    private boolean sendToPeer(String roomId, String camKey, String senderSessionId, String destination, String payload) {
+        if (!videoRoomRegistry.isMember(roomId, senderSessionId)) {
+            log.warn("방 참여자가 아닌 세션의 시그널링 무시 : roomId={}", roomId);
+            return false;
+        }
+        videoRoomRegistry.touch(senderSessionId);
+        String targetSessionId = videoRoomRegistry.sessionOf(roomId, camKey);
+        if (targetSessionId == null) {
+            log.info("시그널링 대상 없음 : roomId={}, camKey={}", roomId, camKey);
+            return false;
+        }
+        messagingTemplate.convertAndSendToUser(targetSessionId, destination, payload, sessionHeaders(targetSessionId));
+        return true;
+    }
+
+    // 같은 방의 나머지 참여자들에게 전달 (정원이 작으므로 메세지당 작업량 일정)
+    private void sendToRoom(String roomId, String senderSessionId, String destination, String payload) {
+        if (!videoRoomRegistry.isMember(roomId, senderSessionId)) {
+            log.warn("방 참여자가 아닌 세션의 시그널링 무시 : roomId={}", roomId);
+            return;
+        }
+        videoRoomRegistry.touch(senderSessionId);
+        for (String sessionId : videoRoomRegistry.otherSessions(roomId, senderSessionId)) {
+            messagingTemplate.convertAndSendToUser(sessionId, destination, payload, sessionHeaders(sessionId));
+        }
+    }
+
+    // 전문은 debug 로만, info 는 표본으로 종류/크기만 남김
+    private void logSignal(String type, String roomId, String camKey, String payload) {
+        if (log.isDebugEnabled()) {
+            log.debug("[{}] roomId={}, to={} : {}", type, roomId, camKey, payload);
+            return;
+        }
+        if (logSampleRate > 0 && signalCount.incrementAndGet() % logSampleRate == 0) {
+            log.info("[{}] roomId={}, to={}, {} bytes (1/{} 표본)", type, roomId, camKey, payload.length(), logSampleRate);
+        }
+    }
+
+    // 묶음 메세지의 candidate 개수 (측정용이라 형식이 틀리면 0)
+    private int countCandidates(String payload) {
+        try {
+            return objectMapper.readTree(payload).path("body").size();
+        } catch (JsonProcessingException e) {
+            return 0;
+        }
+    }
+
+    // 로그인 사용자명이 아닌 세션 id 로 user destination 을 찾도록 세션 헤더 지정
+    private MessageHeaders sessionHeaders(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setLeaveMutable(true);
+        return accessor.getMessageHeaders();
+    }
 }
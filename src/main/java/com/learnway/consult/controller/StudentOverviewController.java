@@ -0,0 +1,36 @@
+package com.learnway.consult.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.learnway.consult.dto.StudentOverviewDTO;
+import com.learnway.consult.service.ConsultantDetails;
+import com.learnway.consult.service.StudentOverviewService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/consultants/students")
+public class StudentOverviewController {
+
+    private final StudentOverviewService studentOverviewService;
+
+    // 상담 준비용 학생 대시보드 (프로필 / 최근 성적 / 이번달 달성률 / 예약 이력 한번에)
+    // 연락처/주소/성적이 포함되므로 해당 학생과 예약이 있는 상담사만 조회 가능 (/api/** 가 permitAll 이라 여기서 검사)
+    @GetMapping("/{id}/overview")
+    public ResponseEntity<StudentOverviewDTO> overview(@PathVariable("id") Long id, Authentication authentication) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof ConsultantDetails consultant)
+                || !studentOverviewService.hasReservationWith(consultant.getId(), id)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return studentOverviewService.getOverview(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,35 @@
+package com.learnway.consult.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.learnway.consult.dto.CallSetupStatsDTO;
+import com.learnway.consult.service.CallSetupMetrics;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/api/video")
+public class VideoMetricsRestController {
+
+    private final CallSetupMetrics callSetupMetrics;
+
+    // 화상상담 연결 준비 시간 히스토그램 (관리자만, /** permitAll 이 /admin/** 규칙보다 먼저 적용되므로 여기서 검사)
+    @GetMapping("/call-setup")
+    public ResponseEntity<CallSetupStatsDTO> callSetup(Authentication authentication) {
+        if (!isAdmin(authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(callSetupMetrics.snapshot());
+    }
+
+    private boolean isAdmin(Authentication authentication) {
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+}
@@ -2,9 +2,13 @@ package com.learnway.consult.domain;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ConsultantRepository extends JpaRepository<Consultant, Long> {
     Optional<Consultant> findByConsultantId(String consultantId);
+
+    // 과목별 상담사 (빠른 예약 찾기)
+    List<Consultant> findBySubject(String subject);
 }
 
@@ -2,7 +2,10 @@ package com.learnway.consult.domain;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
@@ -15,5 +18,24 @@ public interface MemoRepository extends JpaRepository<Memo, Long> {
 
 	void deleteBymemoId(Long memoId);
 
-
+	//메모리스트 최신순 페이지 (before 보다 작은 memoId 부터, consultant_id 인덱스에 pk 가 포함되어 정렬 없이 범위 조회)
+	@Query("SELECT m.memoId AS memoId, m.memoTitle AS memoTitle, m.memoContents AS memoContents "
+			+ "FROM Memo m WHERE m.consultant.id = :consultantId AND m.memoId < :before ORDER BY m.memoId DESC")
+	List<MemoView> findPage(@Param("consultantId") Long consultantId, @Param("before") Long before, Pageable pageable);
+
+	//메모 전문검색 (memo_title, memo_contents FULLTEXT ngram 인덱스)
+	@Query(value = "SELECT m.memo_id AS memoId, m.memo_title AS memoTitle, m.memo_contents AS memoContents FROM memo m "
+			+ "WHERE m.consultant_id = :consultantId AND m.memo_id < :before "
+			+ "AND MATCH(m.memo_title, m.memo_contents) AGAINST (:query IN BOOLEAN MODE) "
+			+ "ORDER BY m.memo_id DESC LIMIT :size", nativeQuery = true)
+	List<MemoView> search(@Param("consultantId") Long consultantId, @Param("query") String query,
+			@Param("before") Long before, @Param("size") int size);
+
+	//ngram 최소 글자수보다 짧은 검색어용
+	@Query("SELECT m.memoId AS memoId, m.memoTitle AS memoTitle, m.memoContents AS memoContents "
+			+ "FROM Memo m WHERE m.consultant.id = :consultantId AND m.memoId < :before "
+			+ "AND (m.memoTitle LIKE CONCAT('%', :keyword, '%') OR m.memoContents LIKE CONCAT('%', :keyword, '%')) "
+			+ "ORDER BY m.memoId DESC")
+	List<MemoView> searchLike(@Param("consultantId") Long consultantId, @Param("keyword") String keyword,
+			@Param("before") Long before, Pageable pageable);
 }
@@ -0,0 +1,11 @@
+package com.learnway.consult.domain;
+
+// 메모 목록/검색 조회 결과 (consultant 엔티티를 읽지 않음)
+public interface MemoView {
+
+    Long getMemoId();
+
+    String getMemoTitle();
+
+    String getMemoContents();
+}
@@ -0,0 +1,44 @@
+package com.learnway.consult.domain;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 상담사가 오프라인일때 쌓아두는 알림 (재배포해도 유지됨)
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "notification_outbox",
+       indexes = @Index(name = "idx_outbox_consultant", columnList = "consultant_id, id"))
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "consultant_id", nullable = false)
+    private Long consultantId;          // 상담사 PK
+
+    private Long eventId;               // SSE 이벤트 id (재연결시 Last-Event-ID 기준)
+
+    @Column(nullable = false, length = 2000)
+    private String message;             // 알림 내용 (html)
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;    // 적재 시각 (TTL 정리 기준)
+
+    public NotificationOutbox(Long consultantId, Long eventId, String message) {
+        this.consultantId = consultantId;
+        this.eventId = eventId;
+        this.message = message;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,46 @@
+package com.learnway.consult.domain;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+	//상담사 로그인시 밀린 알림 한번에 조회
+	List<NotificationOutbox> findByConsultantIdOrderByIdAsc(Long consultantId);
+
+	//보관함에 알림이 남아있는 상담사 목록 (기동시 1회)
+	@Query("SELECT DISTINCT n.consultantId FROM NotificationOutbox n")
+	List<Long> findPendingConsultantIds();
+
+	//재연결시 링버퍼로 이미 재전송한 알림 삭제 (재전송 이후 새로 들어온 알림은 남겨둠)
+	@Modifying
+	@Query("DELETE FROM NotificationOutbox n WHERE n.consultantId = :consultantId AND n.eventId <= :lastEventId")
+	int deleteReplayed(@Param("consultantId") Long consultantId, @Param("lastEventId") Long lastEventId);
+
+	//보관함에 남은 알림이 있는지
+	boolean existsByConsultantId(Long consultantId);
+
+	//전달 완료된 알림 삭제 (조회 이후 새로 들어온 알림은 남겨둠)
+	@Modifying
+	@Query("DELETE FROM NotificationOutbox n WHERE n.consultantId = :consultantId AND n.id <= :lastId")
+	int deleteDelivered(@Param("consultantId") Long consultantId, @Param("lastId") Long lastId);
+
+	//상담사별 최신 keep 개만 남기고 오래된 알림 삭제
+	@Modifying
+	@Query(value = "DELETE FROM notification_outbox WHERE consultant_id = :consultantId AND id <= ("
+			+ "SELECT id FROM (SELECT id FROM notification_outbox WHERE consultant_id = :consultantId "
+			+ "ORDER BY id DESC LIMIT 1 OFFSET :keep) t)", nativeQuery = true)
+	int trimBacklog(@Param("consultantId") Long consultantId, @Param("keep") int keep);
+
+	//TTL 지난 알림 정리
+	@Modifying
+	@Query("DELETE FROM NotificationOutbox n WHERE n.createdAt < :expiredBefore")
+	int deleteExpired(@Param("expiredBefore") LocalDateTime expiredBefore);
+}
@@ -0,0 +1,18 @@
+package com.learnway.consult.domain;
+
+import com.learnway.consult.dto.ReservationNotice;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 예약 생성/취소 도메인 이벤트 (트랜잭션 커밋 이후에만 알림 처리)
+@Getter
+@RequiredArgsConstructor
+public class ReservationChangedEvent {
+
+    private final Long reservationId;
+    private final Long consultantId;
+    private final Long memberId;            // 예약자 알림함용
+    private final String memberEmail;       // 상담 전 리마인더 메일용
+    private final ReservationNotice notice;
+}
@@ -9,14 +9,18 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
 
 @Setter
 @Getter
 @Entity
+// 상담사 예약 보드 keyset 페이징 / 앞으로 남은 예약 조회용 (counselor_id 범위 안에서 booking_start, id 순으로 정렬 없이 읽음)
+@Table(indexes = @Index(name = "idx_reservation_counselor_start", columnList = "counselor_id, booking_start, id"))
 public class ReservationEntity {
 
     @Id
@@ -0,0 +1,21 @@
+package com.learnway.consult.domain;
+
+import java.time.LocalDateTime;
+
+// 상담 리마인더 등록용 조회 결과
+public interface ReservationReminderView {
+
+    Long getId();
+
+    Long getConsultantId();
+
+    Long getMemberId();
+
+    String getMemberName();
+
+    String getMemberEmail();
+
+    LocalDateTime getBookingStart();
+
+    LocalDateTime getBookingEnd();
+}
@@ -1,10 +1,17 @@
 package com.learnway.consult.domain;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.learnway.consult.dto.ReservationDTO;
+
 
 	@Repository
 	public interface ReservationRepository extends JpaRepository<ReservationEntity, Long> {
@@ -14,6 +21,47 @@ import org.springframework.stereotype.Repository;
 		//상담사가 자기 예약 리스트 확인할때 jpa
 		List<ReservationEntity> getReservationsListByCounselor_id(Long counselor_id);
 		
+		//상담사 예약 보드 (예약자 정보까지 join 한번으로 조회, bookingStart/id 기준 keyset 페이징)
+		@Query("SELECT new com.learnway.consult.dto.ReservationDTO(r.id, m.id, m.memberId, m.memberName, c.consultantId, r.bookingStart, r.bookingEnd) "
+				+ "FROM ReservationEntity r JOIN r.member m JOIN r.counselor c "
+				+ "WHERE c.id = :consultantId AND (r.bookingStart > :after OR (r.bookingStart = :after AND r.id > :afterId)) "
+				+ "ORDER BY r.bookingStart ASC, r.id ASC")
+		List<ReservationDTO> findBoard(@Param("consultantId") Long consultantId, @Param("after") LocalDateTime after,
+				@Param("afterId") Long afterId, Pageable pageable);
+		
+		//상담사 예약 보드 지난 예약 (before/beforeId 이전, 최근순) : 같은 (counselor_id, booking_start, id) 인덱스를 역순으로
+		@Query("SELECT new com.learnway.consult.dto.ReservationDTO(r.id, m.id, m.memberId, m.memberName, c.consultantId, r.bookingStart, r.bookingEnd) "
+				+ "FROM ReservationEntity r JOIN r.member m JOIN r.counselor c "
+				+ "WHERE c.id = :consultantId AND (r.bookingStart < :before OR (r.bookingStart = :before AND r.id < :beforeId)) "
+				+ "ORDER BY r.bookingStart DESC, r.id DESC")
+		List<ReservationDTO> findBoardBefore(@Param("consultantId") Long consultantId, @Param("before") LocalDateTime before,
+				@Param("beforeId") Long beforeId, Pageable pageable);
+		
+		//상담사와 학생 사이 예약이 있는지 (학생 대시보드 조회 권한)
+		boolean existsByCounselor_IdAndMember_Id(Long consultantId, Long memberId);
+		
+		//학생 예약 이력 (상담사 학생 대시보드, 최근순)
+		@Query("SELECT new com.learnway.consult.dto.ReservationDTO(r.id, m.id, m.memberId, m.memberName, c.consultantId, r.bookingStart, r.bookingEnd) "
+				+ "FROM ReservationEntity r JOIN r.member m JOIN r.counselor c "
+				+ "WHERE m.id = :memberId ORDER BY r.bookingStart DESC, r.id DESC")
+		List<ReservationDTO> findHistoryByMember(@Param("memberId") Long memberId, Pageable pageable);
+		
+		//상담 리마인더 복구용 (서버 시작시 앞으로 시작할 예약을 한번에 조회)
+		@Query("SELECT r.id AS id, r.counselor.id AS consultantId, m.id AS memberId, m.memberName AS memberName, m.memberEmail AS memberEmail, "
+				+ "r.bookingStart AS bookingStart, r.bookingEnd AS bookingEnd "
+				+ "FROM ReservationEntity r JOIN r.member m WHERE r.bookingStart > :after")
+		List<ReservationReminderView> findReminderTargets(@Param("after") LocalDateTime after);
+		
 		//멤버가 자기 상담리스트 조회
 		List<ReservationEntity> findBymember_id(Long memberId);
+		
+		//예약 가능시간 인덱스 적재용 (지나간 예약은 제외, 필요한 컬럼만 조회)
+		@Query("SELECT r.id AS id, r.counselor.id AS consultantId, r.member.id AS memberId, r.bookingStart AS bookingStart, r.bookingEnd AS bookingEnd "
+				+ "FROM ReservationEntity r WHERE r.counselor.id = :consultantId AND r.bookingEnd > :after")
+		List<ReservationSlotView> findUpcomingSlots(@Param("consultantId") Long consultantId, @Param("after") LocalDateTime after);
+		
+		//여러 상담사 인덱스를 한번에 적재 (과목별 빠른 예약 찾기)
+		@Query("SELECT r.id AS id, r.counselor.id AS consultantId, r.member.id AS memberId, r.bookingStart AS bookingStart, r.bookingEnd AS bookingEnd "
+				+ "FROM ReservationEntity r WHERE r.counselor.id IN :consultantIds AND r.bookingEnd > :after")
+		List<ReservationSlotView> findUpcomingSlotsIn(@Param("consultantIds") Collection<Long> consultantIds, @Param("after") LocalDateTime after);
 	}
@@ -0,0 +1,17 @@
+package com.learnway.consult.domain;
+
+import java.time.LocalDateTime;
+
+// 예약 가능시간 계산용 (member/counselor 엔티티를 읽지 않는 가벼운 조회)
+public interface ReservationSlotView {
+
+    Long getId();
+
+    Long getConsultantId();
+
+    Long getMemberId();
+
+    LocalDateTime getBookingStart();
+
+    LocalDateTime getBookingEnd();
+}
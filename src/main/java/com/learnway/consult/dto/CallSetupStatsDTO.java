@@ -0,0 +1,15 @@
+package com.learnway.consult.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class CallSetupStatsDTO {
+
+    // offer 는 보냈지만 아직 연결되지 않은 방 수
+    private int inFlight;
+    // 제한시간 안에 연결되지 못하고 정리된 시도 수
+    private long abandoned;
+    private List<LatencyHistogramDTO> histograms;
+}
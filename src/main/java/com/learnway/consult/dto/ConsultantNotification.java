@@ -0,0 +1,15 @@
+package com.learnway.consult.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 노드간에 전달되는 상담사 알림
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsultantNotification {
+    private Long consultantId;  // 상담사 PK
+    private long eventId;       // SSE 이벤트 id
+    private String message;     // 알림 내용 (html)
+}
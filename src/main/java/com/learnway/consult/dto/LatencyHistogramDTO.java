@@ -0,0 +1,17 @@
+package com.learnway.consult.dto;
+
+import java.util.Map;
+
+import lombok.Data;
+
+@Data
+public class LatencyHistogramDTO {
+
+    private String name;
+    private long count;
+    private long sumMs;
+    private long maxMs;
+    private double avgMs;
+    // "le_250" -> 250ms 이하 누적 개수
+    private Map<String, Long> buckets;
+}
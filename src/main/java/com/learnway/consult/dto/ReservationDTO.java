@@ -1,5 +1,7 @@
 package com.learnway.consult.dto;
 
+import java.time.LocalDateTime;
+
 import lombok.Data;
 
 @Data
@@ -8,6 +10,10 @@ public class ReservationDTO {
     private String clientName;
     private String bookingStart;
     private String bookingEnd;
+    // 예약 보드용 (예약자 pk / 예약자 아이디 / 상담사 아이디)
+    private Long userId;
+    private String memberId;
+    private String consultantId;
 
     
     public ReservationDTO() {
@@ -20,6 +26,15 @@ public class ReservationDTO {
         this.bookingEnd = bookingEnd;
     }
 
+    // 예약 보드 조회 쿼리(JPQL constructor expression)용
+    public ReservationDTO(Long id, Long userId, String memberId, String clientName, String consultantId,
+                          LocalDateTime bookingStart, LocalDateTime bookingEnd) {
+        this(id, clientName, bookingStart.toString(), bookingEnd.toString());
+        this.userId = userId;
+        this.memberId = memberId;
+        this.consultantId = consultantId;
+    }
+
 
 }
 
@@ -0,0 +1,27 @@
+package com.learnway.consult.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 상담사 알림 묶음(digest)에 들어가는 예약 변경 한건
+@Getter
+@AllArgsConstructor
+public class ReservationNotice {
+
+    public enum Type { CREATED, CANCELLED }
+
+    private final Type type;
+    private final String memberName;        // 예약자 성함
+    private final LocalDateTime bookingStart;
+    private final LocalDateTime bookingEnd;
+
+    public static ReservationNotice created(String memberName, LocalDateTime bookingStart, LocalDateTime bookingEnd) {
+        return new ReservationNotice(Type.CREATED, memberName, bookingStart, bookingEnd);
+    }
+
+    public static ReservationNotice cancelled(String memberName, LocalDateTime bookingStart, LocalDateTime bookingEnd) {
+        return new ReservationNotice(Type.CANCELLED, memberName, bookingStart, bookingEnd);
+    }
+}
@@ -0,0 +1,23 @@
+package com.learnway.consult.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 예약 달력에 표시할 시간대 (id 가 null 이면 비어있는 시간)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationSlotDTO {
+    private Long id;
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime start;
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime end;
+    // 로그인한 회원 본인의 예약인지
+    private boolean mine;
+}
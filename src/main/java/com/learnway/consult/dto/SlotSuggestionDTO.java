@@ -0,0 +1,23 @@
+package com.learnway.consult.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 과목별 빠른 예약 찾기 결과
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotSuggestionDTO {
+    private Long consultantId;
+    private String consultantName;
+    private String subject;
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime start;
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime end;
+}
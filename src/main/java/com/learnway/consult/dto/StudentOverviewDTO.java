@@ -0,0 +1,44 @@
+package com.learnway.consult.dto;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 상담사 학생 대시보드 (프로필 / 최근 성적 / 이번달 달성률 / 예약 이력)
+// 시간 안에 조회되지 못한 항목은 빈 목록으로 내려가고 partial 에 항목명이 담김
+@Data
+public class StudentOverviewDTO {
+
+    private UserInfoDTO profile;
+    private List<ScoreSummary> recentScores;
+    private List<DailyRate> monthlyAchievement;
+    private double monthlyAverage;
+    private List<ReservationDTO> reservations;
+    private List<String> partial;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ScoreSummary {
+        private String examName;
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        private Date examDate;
+        private String subjectName;
+        private int score;
+        private int grade;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DailyRate {
+        private LocalDate date;
+        private double rate;
+    }
+}
@@ -0,0 +1,105 @@
+package com.learnway.consult.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.learnway.consult.dto.CallSetupStatsDTO;
+
+import lombok.extern.slf4j.Slf4j;
+
+// 화상상담 연결 준비 시간 측정 (방 단위 offer -> answer -> connected)
+// 정시에 상담이 몰릴 때 어느 구간이 느린지 보기 위한 용도
+@Slf4j
+@Component
+public class CallSetupMetrics {
+
+    private static final long[] LATENCY_BOUNDS_MS = {50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+    private static final long[] BATCH_BOUNDS = {1, 2, 4, 8, 16, 32};
+
+    private final LatencyHistogram offerToAnswer = new LatencyHistogram("offer_to_answer_ms", LATENCY_BOUNDS_MS);
+    private final LatencyHistogram answerToConnected = new LatencyHistogram("answer_to_connected_ms", LATENCY_BOUNDS_MS);
+    private final LatencyHistogram offerToConnected = new LatencyHistogram("offer_to_connected_ms", LATENCY_BOUNDS_MS);
+    // 프레임 하나에 담겨 온 ICE candidate 수
+    private final LatencyHistogram iceBatchSize = new LatencyHistogram("ice_candidates_per_frame", BATCH_BOUNDS);
+
+    // 방 id -> 진행중인 연결 시도
+    private final Map<String, Attempt> attempts = new ConcurrentHashMap<>();
+    private final LongAdder abandoned = new LongAdder();
+
+    @Value("${learnway.video.setup-timeout-ms:60000}")
+    private long setupTimeout;
+
+    // 첫 offer 시각 기록 (같은 시도 중 재전송된 offer 는 무시, answer 이후 offer 는 재연결로 보고 새로 시작)
+    public void offer(String roomId) {
+        long now = System.currentTimeMillis();
+        attempts.compute(roomId, (id, attempt) ->
+                attempt == null || attempt.answerAt != 0 ? new Attempt(now) : attempt);
+    }
+
+    public void answer(String roomId) {
+        long now = System.currentTimeMillis();
+        attempts.computeIfPresent(roomId, (id, attempt) -> {
+            if (attempt.answerAt == 0) {
+                attempt.answerAt = now;
+                offerToAnswer.record(now - attempt.offerAt);
+            }
+            return attempt;
+        });
+    }
+
+    // 양쪽 peer 가 모두 보고하므로 먼저 도착한 것만 기록
+    public void connected(String roomId) {
+        Attempt attempt = attempts.remove(roomId);
+        if (attempt == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        offerToConnected.record(now - attempt.offerAt);
+        if (attempt.answerAt != 0) {
+            answerToConnected.record(now - attempt.answerAt);
+        }
+    }
+
+    public void iceCandidates(int count) {
+        iceBatchSize.record(count);
+    }
+
+    // 제한시간 안에 연결되지 않은 시도 정리
+    @Scheduled(fixedDelayString = "${learnway.video.sweep-interval-ms:60000}")
+    public void sweep() {
+        long expiredBefore = System.currentTimeMillis() - setupTimeout;
+        attempts.forEach((roomId, attempt) -> {
+            if (attempt.offerAt < expiredBefore && attempts.remove(roomId, attempt)) {
+                abandoned.increment();
+                log.info("화상상담 연결 시도 시간초과 : roomId={}", roomId);
+            }
+        });
+    }
+
+    public CallSetupStatsDTO snapshot() {
+        CallSetupStatsDTO dto = new CallSetupStatsDTO();
+        dto.setInFlight(attempts.size());
+        dto.setAbandoned(abandoned.sum());
+        dto.setHistograms(List.of(
+                offerToAnswer.snapshot(),
+                answerToConnected.snapshot(),
+                offerToConnected.snapshot(),
+                iceBatchSize.snapshot()));
+        return dto;
+    }
+
+    private static final class Attempt {
+        private final long offerAt;
+        private volatile long answerAt;
+
+        private Attempt(long offerAt) {
+            this.offerAt = offerAt;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.learnway.consult.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 상담사별 최근 SSE 이벤트 링버퍼
+// 재연결시 Last-Event-ID 이후 이벤트를 DB 조회 없이 메모리에서 바로 재전송하기 위해 사용
+// 이벤트 id 는 NotificationBus 에서 발급 (기동 시각 기준이므로 재기동 전 id 는 이 버퍼로 커버할 수 없음)
+@Component
+public class ConsultantEventRing {
+
+    private final long startId = System.currentTimeMillis() * 1000;
+    private final Map<Long, Ring> rings = new ConcurrentHashMap<>();
+
+    @Value("${learnway.sse.replay-buffer-size:50}")
+    private int capacity;
+
+    public void append(Long consultantId, long eventId, String message) {
+        rings.computeIfAbsent(consultantId, id -> new Ring(capacity, startId)).append(eventId, message);
+    }
+
+    // lastEventId 이후 이벤트가 버퍼에 전부 남아있는지 (밀려나거나 재기동으로 유실된 이벤트가 없는지)
+    public boolean covers(Long consultantId, long lastEventId) {
+        Ring ring = rings.get(consultantId);
+        return lastEventId >= (ring == null ? startId : ring.evictedUpTo());
+    }
+
+    // lastEventId 이후 이벤트 (오래된 순)
+    public List<Event> since(Long consultantId, long lastEventId) {
+        Ring ring = rings.get(consultantId);
+        return ring == null ? List.of() : ring.since(lastEventId);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Event {
+        private final long id;
+        private final String message;
+    }
+
+    // 고정 크기 원형 배열
+    private static final class Ring {
+        private final long[] ids;
+        private final String[] messages;
+        private int head;   // 다음에 쓸 위치
+        private int size;
+        private long evictedUpTo;
+
+        private Ring(int capacity, long startId) {
+            this.ids = new long[capacity];
+            this.messages = new String[capacity];
+            this.evictedUpTo = startId;
+        }
+
+        private synchronized void append(long eventId, String message) {
+            if (size == ids.length) {
+                evictedUpTo = ids[head];
+            } else {
+                size++;
+            }
+            ids[head] = eventId;
+            messages[head] = message;
+            head = (head + 1) % ids.length;
+        }
+
+        private synchronized long evictedUpTo() {
+            return evictedUpTo;
+        }
+
+        private synchronized List<Event> since(long lastEventId) {
+            List<Event> events = new ArrayList<>();
+            int oldest = (head - size + ids.length) % ids.length;
+            for (int i = 0; i < size; i++) {
+                int index = (oldest + i) % ids.length;
+                if (ids[index] > lastEventId) {
+                    events.add(new Event(ids[index], messages[index]));
+                }
+            }
+            return events;
+        }
+    }
+}
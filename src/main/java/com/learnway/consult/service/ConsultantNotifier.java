@@ -0,0 +1,117 @@
+package com.learnway.consult.service;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.learnway.consult.domain.NotificationOutbox;
+import com.learnway.consult.dto.ConsultantNotification;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 상담사 알림 발송 / SSE 구독 처리
+// 발행은 NotificationBus 를 거치므로 상담사가 다른 서버에 접속해 있어도 전달된다
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConsultantNotifier {
+
+    private final NotificationBus notificationBus;
+    private final ConsultantSseFanout sseFanout;
+    private final ConsultantEventRing eventRing;
+    private final NotificationOutboxService outboxService;
+
+    @PostConstruct
+    public void init() {
+        notificationBus.subscribe(this::deliverLocal);
+    }
+
+    // 상담사에게 알림 발송 (어느 서버에도 접속해있지 않으면 보관함에 저장)
+    public void sendToConsultant(Long consultantId, String message) {
+        ConsultantNotification notification =
+                new ConsultantNotification(consultantId, notificationBus.nextEventId(consultantId), message);
+        if (!notificationBus.isOnline(consultantId)) {
+            outboxService.store(consultantId, notification.getEventId(), message);
+        }
+        // 오프라인이어도 발행해서 각 서버 링버퍼에는 남겨둔다 (재연결 재전송용)
+        notificationBus.publish(notification);
+    }
+
+    // SSE 구독 : 재연결이면 링버퍼에서, 아니면 보관함에서 밀린 알림을 한번에 보낸다
+    public SseEmitter subscribe(Long consultantId, Long lastEventId) {
+        // 탭마다 별도 연결로 등록 (기존 탭 연결을 덮어쓰지 않음)
+        SseEmitter emitter = sseFanout.connect(consultantId);
+        notificationBus.connected(consultantId);
+
+        if (lastEventId != null && eventRing.covers(consultantId, lastEventId)) {
+            // 재연결 : 끊긴 동안의 알림을 링버퍼에서 재전송 (DB 조회 없음)
+            Set<DataWithMediaType> batch = new LinkedHashSet<>();
+            long lastReplayedId = lastEventId;
+            for (ConsultantEventRing.Event event : eventRing.since(consultantId, lastEventId)) {
+                batch.addAll(notificationEvent(event.getId(), event.getMessage()).build());
+                lastReplayedId = event.getId();
+            }
+            // 재전송한 알림까지만 보관함에서 제거 (링버퍼 조회 이후 적재된 알림은 다음 접속때 발송)
+            if (sendBatch(emitter, batch) && outboxService.hasPending(consultantId)) {
+                outboxService.discard(consultantId, lastReplayedId);
+            }
+        } else {
+            flushBacklog(consultantId, emitter);
+        }
+        return emitter;
+    }
+
+    // 버스로 들어온 알림 : 링버퍼에 기록하고 이 서버에 연결된 탭으로 발송
+    private void deliverLocal(ConsultantNotification notification) {
+        Long consultantId = notification.getConsultantId();
+        eventRing.append(consultantId, notification.getEventId(), notification.getMessage());
+        if (sseFanout.isConnected(consultantId)) {
+            // 실제 발송은 sseExecutor 에서 처리되므로 호출한 스레드는 바로 반환됨
+            sseFanout.send(consultantId, notificationEvent(notification.getEventId(), notification.getMessage()).build());
+        }
+    }
+
+    // 보관함의 밀린 알림을 하나의 배치로 묶어 한번에 write/flush 한다
+    private void flushBacklog(Long consultantId, SseEmitter emitter) {
+        List<NotificationOutbox> backlog = outboxService.findBacklog(consultantId);
+        if (backlog.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> batch = new LinkedHashSet<>();
+        for (NotificationOutbox notification : backlog) {
+            batch.addAll(notificationEvent(notification.getEventId(), notification.getMessage()).build());
+        }
+        if (sendBatch(emitter, batch)) {
+            outboxService.acknowledge(consultantId, backlog.get(backlog.size() - 1).getId());
+        }
+    }
+
+    private boolean sendBatch(SseEmitter emitter, Set<DataWithMediaType> batch) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        try {
+            emitter.send(batch);
+            return true;
+        } catch (IOException e) {
+            // 발송 실패시 보관함에 그대로 남겨두고 다음 접속때 재발송
+            log.warn("밀린 알림 발송 실패 : {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private SseEmitter.SseEventBuilder notificationEvent(Long eventId, String message) {
+        SseEmitter.SseEventBuilder event = SseEmitter.event().name("notification");
+        if (eventId != null) {
+            event.id(String.valueOf(eventId));
+        }
+        return event.data(message);
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import com.learnway.consult.domain.Consultant;
 import com.learnway.consult.domain.ConsultantRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -14,6 +15,7 @@ import com.learnway.consult.domain.Consultant;
 import com.learnway.consult.domain.ConsultantRepository;
 import com.learnway.consult.domain.Memo;
 import com.learnway.consult.domain.MemoRepository;
+import com.learnway.consult.domain.MemoView;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +26,9 @@ import lombok.RequiredArgsConstructor;
 @Service
 public class ConsultantService  implements UserDetailsService {
 
+	private static final int NGRAM_TOKEN_SIZE = 2;
+	private static final int MAX_MEMO_PAGE = 100;
+
 	private final ConsultantRepository consultantRepository;
 
     private final MemoRepository memoRepository;
@@ -65,6 +70,33 @@ public class ConsultantService  implements UserDetailsService {
 		return memoRepository.findByConsultantId(consultantId);
 	}
 
+	//메모리스트 페이지 조회 서비스 (before : 이전 페이지 마지막 memoId, 첫 페이지는 null)
+	public List<MemoView> getMemoPage(Long consultantId, Long before, int size) {
+		return memoRepository.findPage(consultantId, cursor(before), PageRequest.of(0, pageSize(size)));
+	}
+
+	//메모 검색 서비스 (FULLTEXT ngram, 최신순 페이지)
+	public List<MemoView> searchMemos(Long consultantId, String query, Long before, int size) {
+		// boolean mode 연산자는 검색어에서 제거
+		String keyword = query == null ? "" : query.replaceAll("[+\\-<>()~*\"@]", " ").trim();
+		if (keyword.isEmpty()) {
+			return List.of();
+		}
+		// ngram 토큰(2글자)보다 짧은 검색어는 인덱스로 찾을 수 없어 LIKE 로 조회
+		if (keyword.length() < NGRAM_TOKEN_SIZE) {
+			return memoRepository.searchLike(consultantId, keyword, cursor(before), PageRequest.of(0, pageSize(size)));
+		}
+		return memoRepository.search(consultantId, keyword, cursor(before), pageSize(size));
+	}
+
+	private static Long cursor(Long before) {
+		return before == null ? Long.MAX_VALUE : before;
+	}
+
+	private static int pageSize(int size) {
+		return Math.max(1, Math.min(size, MAX_MEMO_PAGE));
+	}
+
 	//메모 디테일 및 수정폼 서비스
 	public List<Memo> getMemoDetail(Long memoId) {
 		return memoRepository.findByMemoId(memoId);
@@ -0,0 +1,22 @@
+package com.learnway.consult.service;
+
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import com.learnway.global.service.SseFanout;
+
+// 상담사 SSE 연결 관리 및 알림 발송 (상담사 PK 기준)
+@Component
+public class ConsultantSseFanout extends SseFanout {
+
+    public ConsultantSseFanout(@Qualifier("sseExecutor") Executor sseExecutor) {
+        super("상담사", sseExecutor);
+    }
+
+    public Set<Long> connectedConsultants() {
+        return connectedIds();
+    }
+}
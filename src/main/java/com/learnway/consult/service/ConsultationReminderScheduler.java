@@ -0,0 +1,151 @@
+package com.learnway.consult.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.learnway.consult.domain.ReservationChangedEvent;
+import com.learnway.consult.domain.ReservationRepository;
+import com.learnway.consult.domain.ReservationReminderView;
+import com.learnway.consult.dto.ReservationNotice;
+import com.learnway.member.service.EmailService;
+import com.learnway.notification.domain.NotificationType;
+import com.learnway.notification.service.MemberNotificationService;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 상담 시작 N분 전 리마인더
+// - 앞으로 시작할 예약을 타이밍 휠에 올려두고 틱마다 만료된 것만 발송 (DB 주기 조회 없음)
+// - 서버 시작시 예약 테이블에서 한번에 복구, 이후 예약 생성/취소 이벤트(커밋 이후)로 동기화
+@Slf4j
+@Component
+public class ConsultationReminderScheduler {
+
+    private static final DateTimeFormatter START_TIME = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final ReservationRepository reservationRepository;
+    private final ConsultantNotifier consultantNotifier;
+    private final EmailService emailService;
+    private final MemberNotificationService memberNotificationService;
+    private final Executor notificationExecutor;
+
+    // 예약 id -> 휠에 등록된 리마인더 (취소시 표시용)
+    private final Map<Long, HierarchicalTimingWheel.Timeout<Reminder>> timeouts = new ConcurrentHashMap<>();
+    private HierarchicalTimingWheel<Reminder> wheel;
+
+    @Value("${learnway.reminder.lead-minutes:10}")
+    private long leadMinutes;
+
+    @Value("${learnway.reminder.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${learnway.reminder.email-enabled:false}")
+    private boolean emailEnabled;
+
+    public ConsultationReminderScheduler(ReservationRepository reservationRepository, ConsultantNotifier consultantNotifier,
+                                         EmailService emailService, MemberNotificationService memberNotificationService,
+                                         @Qualifier("notificationExecutor") Executor notificationExecutor) {
+        this.reservationRepository = reservationRepository;
+        this.consultantNotifier = consultantNotifier;
+        this.emailService = emailService;
+        this.memberNotificationService = memberNotificationService;
+        this.notificationExecutor = notificationExecutor;
+    }
+
+    @PostConstruct
+    void init() {
+        // 1초 x 60칸 x 4단계 = 약 150일 범위, 그 이후 예약은 최상위 칸에서 다시 배치됨
+        wheel = new HierarchicalTimingWheel<>(tickMs, 60, 4, System.currentTimeMillis());
+    }
+
+    // 서버 시작시 앞으로 시작할 예약을 한번에 등록
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        List<ReservationReminderView> targets = reservationRepository.findReminderTargets(LocalDateTime.now());
+        for (ReservationReminderView target : targets) {
+            schedule(new Reminder(target.getId(), target.getConsultantId(), target.getMemberId(), target.getMemberName(),
+                    target.getMemberEmail(), target.getBookingStart()));
+        }
+        log.info("상담 리마인더 복구 : {}건", targets.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        ReservationNotice notice = event.getNotice();
+        if (notice.getType() == ReservationNotice.Type.CREATED) {
+            schedule(new Reminder(event.getReservationId(), event.getConsultantId(), event.getMemberId(), notice.getMemberName(),
+                    event.getMemberEmail(), notice.getBookingStart()));
+        } else {
+            HierarchicalTimingWheel.Timeout<Reminder> timeout = timeouts.remove(event.getReservationId());
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${learnway.reminder.tick-ms:1000}")
+    public void tick() {
+        List<Reminder> due;
+        synchronized (this) {
+            due = wheel.advanceTo(System.currentTimeMillis());
+        }
+        for (Reminder reminder : due) {
+            timeouts.remove(reminder.reservationId);
+            notificationExecutor.execute(() -> send(reminder));
+        }
+    }
+
+    // 시작 leadMinutes 전에 발송 (이미 그 시각이 지났지만 시작 전이면 바로 발송)
+    private void schedule(Reminder reminder) {
+        if (reminder.bookingStart == null || !reminder.bookingStart.isAfter(LocalDateTime.now())) {
+            return;
+        }
+        long deadline = reminder.bookingStart.minusMinutes(leadMinutes)
+                .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        HierarchicalTimingWheel.Timeout<Reminder> timeout;
+        synchronized (this) {
+            timeout = wheel.schedule(deadline, reminder);
+        }
+        HierarchicalTimingWheel.Timeout<Reminder> previous = timeouts.put(reminder.reservationId, timeout);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private void send(Reminder reminder) {
+        String time = reminder.bookingStart.format(START_TIME);
+        consultantNotifier.sendToConsultant(reminder.consultantId,
+                time + " " + reminder.memberName + "님과의 화상상담이 곧 시작됩니다.");
+        memberNotificationService.notify(reminder.memberId, NotificationType.RESERVATION,
+                time + " 화상상담이 곧 시작됩니다.", null);
+        if (emailEnabled && reminder.memberEmail != null) {
+            emailService.sendNoticeEmail(reminder.memberEmail, "LearnWay 화상상담 안내",
+                    "예약하신 화상상담이 " + time + "에 시작됩니다.");
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class Reminder {
+        private final Long reservationId;
+        private final Long consultantId;
+        private final Long memberId;
+        private final String memberName;
+        private final String memberEmail;
+        private final LocalDateTime bookingStart;
+    }
+}
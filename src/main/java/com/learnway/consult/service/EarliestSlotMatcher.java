@@ -0,0 +1,209 @@
+package com.learnway.consult.service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.learnway.consult.domain.Consultant;
+import com.learnway.consult.domain.ConsultantRepository;
+import com.learnway.consult.dto.ReservationSlotDTO;
+import com.learnway.consult.dto.SlotSuggestionDTO;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+// 과목을 담당하는 모든 상담사 중 가장 빨리 예약 가능한 시간 찾기
+// - 상담사별 빈 시간은 ReservationSlotIndex(메모리)에서 계산하고 상담시간(평일 오전/오후)과 겹치는 부분만 사용
+// - 상담사별 후보 시간을 시작시각 순으로 꺼내는 커서를 PriorityQueue 로 병합해 앞에서부터 limit 개만 생성
+@Service
+@RequiredArgsConstructor
+public class EarliestSlotMatcher {
+
+    private static final Comparator<Cursor> EARLIEST =
+            Comparator.comparing((Cursor cursor) -> cursor.start).thenComparing(cursor -> cursor.consultant.getId());
+
+    private final ConsultantRepository consultantRepository;
+    private final ReservationSlotIndex reservationSlotIndex;
+
+    // 상담 가능 시간대 (예약 달력의 businessHours 와 동일)
+    @Value("${learnway.reservation.business-hours:09:00-12:00,13:00-18:00}")
+    private String[] businessHours;
+
+    @Value("${learnway.reservation.business-days:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY}")
+    private String[] businessDays;
+
+    // 예약 시작시각 단위 (달력 slotDuration 과 동일)
+    @Value("${learnway.reservation.slot-step-minutes:60}")
+    private int slotStepMinutes;
+
+    // 한번에 찾을 수 있는 최대 기간
+    @Value("${learnway.reservation.max-search-days:31}")
+    private int maxSearchDays;
+
+    private List<LocalTime[]> hours;
+    private Set<DayOfWeek> days;
+
+    @PostConstruct
+    void init() {
+        hours = new ArrayList<>();
+        for (String range : businessHours) {
+            String[] times = range.trim().split("-");
+            hours.add(new LocalTime[] { LocalTime.parse(times[0].trim()), LocalTime.parse(times[1].trim()) });
+        }
+        hours.sort(Comparator.comparing(range -> range[0]));
+        days = EnumSet.noneOf(DayOfWeek.class);
+        for (String day : businessDays) {
+            days.add(DayOfWeek.valueOf(day.trim()));
+        }
+    }
+
+    public List<SlotSuggestionDTO> findEarliest(String subject, LocalDateTime from, LocalDateTime to, int durationMinutes, int limit) {
+        if (durationMinutes <= 0 || limit <= 0) {
+            throw new IllegalArgumentException("상담 시간과 개수는 0보다 커야 합니다.");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (from == null || from.isBefore(now)) {
+            from = now;
+        }
+        LocalDateTime maxTo = from.plusDays(maxSearchDays);
+        if (to == null || to.isAfter(maxTo)) {
+            to = maxTo;
+        }
+        if (!from.isBefore(to)) {
+            return List.of();
+        }
+
+        List<Consultant> consultants = consultantRepository.findBySubject(subject);
+        if (consultants.isEmpty()) {
+            return List.of();
+        }
+        reservationSlotIndex.preload(consultants.stream().map(Consultant::getId).collect(Collectors.toList()));
+
+        // 모든 상담사에게 공통인 상담 가능 시간대는 한번만 계산
+        List<LocalDateTime[]> windows = businessWindows(from, to);
+        Duration duration = Duration.ofMinutes(durationMinutes);
+
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(EARLIEST);
+        for (Consultant consultant : consultants) {
+            Cursor cursor = new Cursor(consultant, openIntervals(reservationSlotIndex.free(consultant.getId(), from, to), windows), duration);
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+
+        List<SlotSuggestionDTO> result = new ArrayList<>();
+        while (!queue.isEmpty() && result.size() < limit) {
+            Cursor cursor = queue.poll();
+            Consultant consultant = cursor.consultant;
+            result.add(new SlotSuggestionDTO(consultant.getId(), consultant.getName(), consultant.getSubject(),
+                    cursor.start, cursor.start.plus(duration)));
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    // [from, to) 안의 상담 가능 시간대 (시작시각 순)
+    private List<LocalDateTime[]> businessWindows(LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime[]> windows = new ArrayList<>();
+        for (LocalDate date = from.toLocalDate(); !date.atStartOfDay().isAfter(to); date = date.plusDays(1)) {
+            if (!days.contains(date.getDayOfWeek())) {
+                continue;
+            }
+            for (LocalTime[] range : hours) {
+                LocalDateTime start = max(date.atTime(range[0]), from);
+                LocalDateTime end = min(date.atTime(range[1]), to);
+                if (start.isBefore(end)) {
+                    windows.add(new LocalDateTime[] { start, end });
+                }
+            }
+        }
+        return windows;
+    }
+
+    // 빈 시간 목록과 상담 가능 시간대의 교집합 (둘 다 정렬되어 있으므로 한번씩만 훑음)
+    private List<LocalDateTime[]> openIntervals(List<ReservationSlotDTO> free, List<LocalDateTime[]> windows) {
+        List<LocalDateTime[]> open = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < free.size() && j < windows.size()) {
+            ReservationSlotDTO gap = free.get(i);
+            LocalDateTime[] window = windows.get(j);
+            LocalDateTime start = max(gap.getStart(), window[0]);
+            LocalDateTime end = min(gap.getEnd(), window[1]);
+            if (start.isBefore(end)) {
+                open.add(new LocalDateTime[] { start, end });
+            }
+            if (gap.getEnd().isBefore(window[1])) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return open;
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    // 한 상담사의 예약 가능한 시작시각을 순서대로 꺼내는 커서
+    private final class Cursor {
+        private final Consultant consultant;
+        private final List<LocalDateTime[]> intervals;
+        private final Duration duration;
+        private int index;
+        private LocalDateTime next;
+        private LocalDateTime start;
+
+        private Cursor(Consultant consultant, List<LocalDateTime[]> intervals, Duration duration) {
+            this.consultant = consultant;
+            this.intervals = intervals;
+            this.duration = duration;
+        }
+
+        // 다음 후보로 이동 (더 없으면 false)
+        private boolean advance() {
+            while (index < intervals.size()) {
+                LocalDateTime[] interval = intervals.get(index);
+                LocalDateTime candidate = alignToStep(next == null || next.isBefore(interval[0]) ? interval[0] : next);
+                if (!candidate.plus(duration).isAfter(interval[1])) {
+                    start = candidate;
+                    next = candidate.plusMinutes(slotStepMinutes);
+                    return true;
+                }
+                index++;
+            }
+            return false;
+        }
+    }
+
+    // 정시 기준 slotStepMinutes 단위로 올림
+    private LocalDateTime alignToStep(LocalDateTime time) {
+        LocalDateTime day = time.truncatedTo(ChronoUnit.DAYS);
+        long minutes = ChronoUnit.MINUTES.between(day, time.truncatedTo(ChronoUnit.MINUTES));
+        if (time.truncatedTo(ChronoUnit.MINUTES).isBefore(time)) {
+            minutes++;
+        }
+        long aligned = (minutes + slotStepMinutes - 1) / slotStepMinutes * slotStepMinutes;
+        return day.plusMinutes(aligned);
+    }
+}
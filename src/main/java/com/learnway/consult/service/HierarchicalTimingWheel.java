@@ -0,0 +1,107 @@
+package com.learnway.consult.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+// 계층형 타이밍 휠
+// - 레벨 l 의 한 칸은 wheelSize^l 틱, 가까운 작업은 아래 레벨에, 먼 작업은 위 레벨에 둔다
+// - 위 레벨 칸의 차례가 오면 그 칸의 작업들을 아래 레벨로 내려보낸다(cascade)
+// - 등록/취소 O(1), 틱마다 처리하는 작업량은 만료되는 작업 수에 비례
+// 동기화는 호출하는 쪽에서 처리 (스레드 안전하지 않음)
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long[] spans;
+    private final List<List<ArrayDeque<Timeout<T>>>> levels = new ArrayList<>();
+    private long currentTick;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, int levelCount, long nowMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.spans = new long[levelCount + 1];
+        spans[0] = 1;
+        for (int l = 1; l <= levelCount; l++) {
+            spans[l] = spans[l - 1] * wheelSize;
+        }
+        for (int l = 0; l < levelCount; l++) {
+            List<ArrayDeque<Timeout<T>>> slots = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                slots.add(new ArrayDeque<>());
+            }
+            levels.add(slots);
+        }
+        this.currentTick = nowMs / tickMs;
+    }
+
+    // deadlineMs 에 만료되는 작업 등록 (이미 지난 시각이면 다음 틱에 만료)
+    public Timeout<T> schedule(long deadlineMs, T value) {
+        long deadlineTick = Math.max((deadlineMs + tickMs - 1) / tickMs, currentTick + 1);
+        Timeout<T> timeout = new Timeout<>(deadlineTick, value);
+        place(timeout);
+        return timeout;
+    }
+
+    // nowMs 까지 시계를 진행하고 만료된 작업들을 반환
+    public List<T> advanceTo(long nowMs) {
+        List<T> expired = new ArrayList<>();
+        long targetTick = nowMs / tickMs;
+        while (currentTick < targetTick) {
+            currentTick++;
+            // 위 레벨부터 이번 틱에 차례가 된 칸을 아래로 내려보냄
+            for (int l = levels.size() - 1; l > 0; l--) {
+                if (currentTick % spans[l] == 0) {
+                    ArrayDeque<Timeout<T>> slot = levels.get(l).get(index(currentTick, l));
+                    List<Timeout<T>> cascading = new ArrayList<>(slot);
+                    slot.clear();
+                    cascading.forEach(this::place);
+                }
+            }
+            ArrayDeque<Timeout<T>> slot = levels.get(0).get(index(currentTick, 0));
+            Timeout<T> timeout;
+            while ((timeout = slot.poll()) != null) {
+                if (!timeout.cancelled) {
+                    expired.add(timeout.value);
+                }
+            }
+        }
+        return expired;
+    }
+
+    // 마감 틱과 현재 틱이 같은 구간에 들어가는 가장 낮은 레벨에 배치
+    private void place(Timeout<T> timeout) {
+        if (timeout.cancelled) {
+            return;
+        }
+        int top = levels.size() - 1;
+        for (int l = 0; l <= top; l++) {
+            if (timeout.deadlineTick / spans[l + 1] == currentTick / spans[l + 1]) {
+                levels.get(l).get(index(timeout.deadlineTick, l)).add(timeout);
+                return;
+            }
+        }
+        // 휠 전체 범위를 넘는 작업은 최상위 레벨에 두고 차례가 올 때마다 다시 배치
+        levels.get(top).get(index(timeout.deadlineTick, top)).add(timeout);
+    }
+
+    private int index(long tick, int level) {
+        return (int) ((tick / spans[level]) % wheelSize);
+    }
+
+    public static final class Timeout<T> {
+        private final long deadlineTick;
+        private final T value;
+        private volatile boolean cancelled;
+
+        private Timeout(long deadlineTick, T value) {
+            this.deadlineTick = deadlineTick;
+            this.value = value;
+        }
+
+        // 휠에서 꺼내지 않고 표시만 해둠 (차례가 오면 버려짐)
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.learnway.consult.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.learnway.consult.dto.LatencyHistogramDTO;
+
+// 고정 구간(ms) 누적 히스토그램 (기록은 lock 없이 LongAdder 로 처리)
+public class LatencyHistogram {
+
+    private final String name;
+    private final long[] bounds;
+    // bounds.length 번째 칸은 마지막 구간 초과분
+    private final LongAdder[] buckets;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public LatencyHistogram(String name, long... bounds) {
+        this.name = name;
+        this.bounds = bounds.clone();
+        this.buckets = new LongAdder[bounds.length + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long millis) {
+        if (millis < 0) {
+            return;
+        }
+        int i = 0;
+        while (i < bounds.length && millis > bounds[i]) {
+            i++;
+        }
+        buckets[i].increment();
+        count.increment();
+        sum.add(millis);
+        max.accumulateAndGet(millis, Math::max);
+    }
+
+    // 구간별 누적 개수 (le_250 = 250ms 이하 전체)
+    public LatencyHistogramDTO snapshot() {
+        Map<String, Long> cumulative = new LinkedHashMap<>();
+        long running = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            running += buckets[i].sum();
+            cumulative.put("le_" + bounds[i], running);
+        }
+        running += buckets[bounds.length].sum();
+        cumulative.put("le_inf", running);
+
+        long total = count.sum();
+        LatencyHistogramDTO dto = new LatencyHistogramDTO();
+        dto.setName(name);
+        dto.setCount(total);
+        dto.setSumMs(sum.sum());
+        dto.setMaxMs(max.get());
+        dto.setAvgMs(total == 0 ? 0 : (double) sum.sum() / total);
+        dto.setBuckets(cumulative);
+        return dto;
+    }
+}
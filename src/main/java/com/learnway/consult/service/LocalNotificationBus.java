@@ -0,0 +1,91 @@
+package com.learnway.consult.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.learnway.consult.dto.ConsultantNotification;
+import com.learnway.notification.dto.MemberNotificationDTO;
+
+import lombok.RequiredArgsConstructor;
+
+// 단일 서버용 버스 (JVM 메모리)
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "learnway.bus.type", havingValue = "local", matchIfMissing = true)
+public class LocalNotificationBus implements NotificationBus {
+
+    private final ConsultantSseFanout sseFanout;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Consumer<ConsultantNotification>> listeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<MemberNotificationDTO>> memberListeners = new CopyOnWriteArrayList<>();
+    private final Map<String, Set<String>> roomParticipants = new ConcurrentHashMap<>();
+
+    // 기동 시각(ms * 1000) 이상으로 증가시켜 재기동 후에도 이전 id 보다 크게 유지
+    @Override
+    public long nextEventId(Long consultantId) {
+        return sequence.updateAndGet(prev -> Math.max(prev + 1, System.currentTimeMillis() * 1000));
+    }
+
+    @Override
+    public void publish(ConsultantNotification notification) {
+        listeners.forEach(listener -> listener.accept(notification));
+    }
+
+    @Override
+    public void subscribe(Consumer<ConsultantNotification> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void publishMember(MemberNotificationDTO notification) {
+        memberListeners.forEach(listener -> listener.accept(notification));
+    }
+
+    @Override
+    public void subscribeMember(Consumer<MemberNotificationDTO> listener) {
+        memberListeners.add(listener);
+    }
+
+    @Override
+    public boolean isOnline(Long consultantId) {
+        return sseFanout.isConnected(consultantId);
+    }
+
+    @Override
+    public void connected(Long consultantId) {
+        // 같은 JVM 이므로 fanout 연결 상태를 그대로 사용
+    }
+
+    @Override
+    public boolean joinRoom(String roomId, String camKey, int capacity) {
+        boolean[] joined = new boolean[1];
+        roomParticipants.compute(roomId, (id, participants) -> {
+            if (participants == null) {
+                participants = ConcurrentHashMap.newKeySet();
+            }
+            joined[0] = participants.contains(camKey) || (participants.size() < capacity && participants.add(camKey));
+            return participants.isEmpty() ? null : participants;
+        });
+        return joined[0];
+    }
+
+    @Override
+    public boolean leaveRoom(String roomId, String camKey) {
+        boolean[] found = new boolean[1];
+        roomParticipants.computeIfPresent(roomId, (id, participants) -> {
+            found[0] = true;
+            participants.remove(camKey);
+            return participants.isEmpty() ? null : participants;
+        });
+        return found[0];
+    }
+}
@@ -0,0 +1,39 @@
+package com.learnway.consult.service;
+
+import java.util.function.Consumer;
+
+import com.learnway.consult.dto.ConsultantNotification;
+import com.learnway.notification.dto.MemberNotificationDTO;
+
+// 상담사 알림 / 회원 알림 / 화상방 참여자 상태를 노드간에 공유하기 위한 버스
+// learnway.bus.type=local (기본) : 단일 서버용 JVM 메모리 구현
+// learnway.bus.type=redis        : 여러 서버가 Redis 를 공유하는 구현
+public interface NotificationBus {
+
+    // 상담사별로 계속 증가하는 이벤트 id 발급
+    long nextEventId(Long consultantId);
+
+    // 알림 발행 : 모든 노드의 구독자에게 전달되고, 연결을 가진 노드가 실제 발송한다
+    void publish(ConsultantNotification notification);
+
+    // 이 노드로 들어오는 알림 구독
+    void subscribe(Consumer<ConsultantNotification> listener);
+
+    // 회원 알림 발행 : 모든 노드의 구독자에게 전달 (안읽은 개수 동기화 / 연결을 가진 노드가 발송)
+    void publishMember(MemberNotificationDTO notification);
+
+    // 이 노드로 들어오는 회원 알림 구독
+    void subscribeMember(Consumer<MemberNotificationDTO> listener);
+
+    // 어느 노드에든 상담사 SSE 연결이 있는지
+    boolean isOnline(Long consultantId);
+
+    // 이 노드에 상담사 SSE 연결이 생겼음을 알림
+    void connected(Long consultantId);
+
+    // 화상방 입장 (이미 참여중이거나 입장 성공시 true, 정원 초과시 false)
+    boolean joinRoom(String roomId, String camKey, int capacity);
+
+    // 화상방 퇴장 (방이 없으면 false)
+    boolean leaveRoom(String roomId, String camKey);
+}
@@ -0,0 +1,103 @@
+package com.learnway.consult.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.learnway.consult.domain.NotificationOutbox;
+import com.learnway.consult.domain.NotificationOutboxRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 오프라인 상담사 알림 보관함
+// 상담사별 최대 개수(maxPerConsultant)를 넘으면 오래된 것부터 버리고, ttlDays 가 지난 알림은 주기적으로 정리한다
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationOutboxService {
+
+	private final NotificationOutboxRepository outboxRepository;
+
+	// 보관함에 알림이 있는 상담사 (재연결시 DB 조회 여부 판단용)
+	private final Set<Long> pendingConsultants = ConcurrentHashMap.newKeySet();
+
+	@Value("${learnway.notification.outbox.max-per-consultant:100}")
+	private int maxPerConsultant;
+
+	@Value("${learnway.notification.outbox.ttl-days:14}")
+	private long ttlDays;
+
+	@PostConstruct
+	public void loadPending() {
+		pendingConsultants.addAll(outboxRepository.findPendingConsultantIds());
+	}
+
+	//오프라인 상담사 알림 적재
+	@Transactional
+	public void store(Long consultantId, Long eventId, String message) {
+		outboxRepository.save(new NotificationOutbox(consultantId, eventId, message));
+		outboxRepository.trimBacklog(consultantId, maxPerConsultant);
+		// 커밋된 뒤에 표시 (커밋 전에 표시하면 그 사이 acknowledge/discard 가 아직 안보이는 행을 보고 표시를 지울 수 있음)
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					pendingConsultants.add(consultantId);
+				}
+			});
+			return;
+		}
+		pendingConsultants.add(consultantId);
+	}
+
+	public boolean hasPending(Long consultantId) {
+		return pendingConsultants.contains(consultantId);
+	}
+
+	//밀린 알림 조회 (오래된 순)
+	public List<NotificationOutbox> findBacklog(Long consultantId) {
+		return outboxRepository.findByConsultantIdOrderByIdAsc(consultantId);
+	}
+
+	//전달 완료 처리 (lastId 까지만 삭제, 조회 이후 새로 들어온 알림은 남겨둠)
+	@Transactional
+	public void acknowledge(Long consultantId, Long lastId) {
+		outboxRepository.deleteDelivered(consultantId, lastId);
+		refreshPending(consultantId);
+	}
+
+	//링버퍼에서 재전송된 알림(lastEventId 까지)은 보관함에서 제거
+	@Transactional
+	public void discard(Long consultantId, Long lastEventId) {
+		outboxRepository.deleteReplayed(consultantId, lastEventId);
+		refreshPending(consultantId);
+	}
+
+	// 표시를 먼저 지우고 남은 알림이 있으면 다시 표시 (그 사이 store 가 커밋되면 store 쪽에서 다시 표시함)
+	private void refreshPending(Long consultantId) {
+		pendingConsultants.remove(consultantId);
+		if (outboxRepository.existsByConsultantId(consultantId)) {
+			pendingConsultants.add(consultantId);
+		}
+	}
+
+	//TTL 지난 알림 정리
+	@Scheduled(fixedDelayString = "${learnway.notification.outbox.compact-interval-ms:3600000}")
+	@Transactional
+	public void compact() {
+		int removed = outboxRepository.deleteExpired(LocalDateTime.now().minusDays(ttlDays));
+		if (removed > 0) {
+			log.info("만료된 상담사 알림 정리 : {}건", removed);
+		}
+	}
+}
@@ -0,0 +1,168 @@
+package com.learnway.consult.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learnway.consult.dto.ConsultantNotification;
+import com.learnway.notification.dto.MemberNotificationDTO;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 여러 서버용 버스 (Redis pub/sub + 공유 키)
+// - 알림은 채널로 모든 노드에 전달되고, 상담사 연결을 가진 노드가 발송한다
+// - 상담사 접속 여부는 노드별 만료시각을 score 로 갖는 sorted set 으로 관리 (노드가 죽으면 자동 만료)
+// - 화상방 참여자는 Redis set + Lua 스크립트로 정원 검사와 입장을 원자적으로 처리
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "learnway.bus.type", havingValue = "redis")
+public class RedisNotificationBus implements NotificationBus {
+
+    private static final String CHANNEL = "learnway:sse:notification";
+    private static final String MEMBER_CHANNEL = "learnway:sse:member";
+    private static final String SEQUENCE_KEY = "learnway:sse:seq:";
+    private static final String ONLINE_KEY = "learnway:sse:online:";
+    private static final String ROOM_KEY = "learnway:room:";
+
+    // max(현재값 + 1, 현재시각(ms) * 1000) 으로 증가
+    private static final RedisScript<Long> NEXT_ID = new DefaultRedisScript<>(
+            "local cur = tonumber(redis.call('GET', KEYS[1]) or '0') "
+            + "local nxt = math.max(cur + 1, tonumber(ARGV[1])) "
+            + "redis.call('SET', KEYS[1], string.format('%.0f', nxt)) "
+            + "return nxt", Long.class);
+
+    private static final RedisScript<Long> JOIN_ROOM = new DefaultRedisScript<>(
+            "if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then return 1 end "
+            + "if redis.call('SCARD', KEYS[1]) >= tonumber(ARGV[2]) then return 0 end "
+            + "redis.call('SADD', KEYS[1], ARGV[1]) "
+            + "redis.call('EXPIRE', KEYS[1], ARGV[3]) "
+            + "return 1", Long.class);
+
+    private static final RedisScript<Long> LEAVE_ROOM = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end "
+            + "redis.call('SREM', KEYS[1], ARGV[1]) "
+            + "return 1", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final ConsultantSseFanout sseFanout;
+
+    private final List<Consumer<ConsultantNotification>> listeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<MemberNotificationDTO>> memberListeners = new CopyOnWriteArrayList<>();
+
+    @Value("${learnway.bus.node-id:${random.uuid}}")
+    private String nodeId;
+
+    @Value("${learnway.bus.presence-ttl-ms:30000}")
+    private long presenceTtl;
+
+    @Value("${learnway.bus.room-ttl-seconds:43200}")
+    private long roomTtlSeconds;
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                ConsultantNotification notification = objectMapper.readValue(message.getBody(), ConsultantNotification.class);
+                listeners.forEach(listener -> listener.accept(notification));
+            } catch (IOException e) {
+                log.warn("알림 메세지 역직렬화 실패 : {}", e.getMessage());
+            }
+        }, new ChannelTopic(CHANNEL));
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                MemberNotificationDTO notification = objectMapper.readValue(message.getBody(), MemberNotificationDTO.class);
+                memberListeners.forEach(listener -> listener.accept(notification));
+            } catch (IOException e) {
+                log.warn("회원 알림 메세지 역직렬화 실패 : {}", e.getMessage());
+            }
+        }, new ChannelTopic(MEMBER_CHANNEL));
+        log.info("Redis 알림 버스 사용 : nodeId={}", nodeId);
+    }
+
+    @Override
+    public long nextEventId(Long consultantId) {
+        Long id = redisTemplate.execute(NEXT_ID, List.of(SEQUENCE_KEY + consultantId),
+                String.valueOf(System.currentTimeMillis() * 1000));
+        return id == null ? System.currentTimeMillis() * 1000 : id;
+    }
+
+    @Override
+    public void publish(ConsultantNotification notification) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(notification));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("알림 직렬화 실패", e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ConsultantNotification> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void publishMember(MemberNotificationDTO notification) {
+        try {
+            redisTemplate.convertAndSend(MEMBER_CHANNEL, objectMapper.writeValueAsString(notification));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("회원 알림 직렬화 실패", e);
+        }
+    }
+
+    @Override
+    public void subscribeMember(Consumer<MemberNotificationDTO> listener) {
+        memberListeners.add(listener);
+    }
+
+    @Override
+    public boolean isOnline(Long consultantId) {
+        Long count = redisTemplate.opsForZSet().count(ONLINE_KEY + consultantId,
+                System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+        return count != null && count > 0;
+    }
+
+    @Override
+    public void connected(Long consultantId) {
+        String key = ONLINE_KEY + consultantId;
+        redisTemplate.opsForZSet().add(key, nodeId, System.currentTimeMillis() + presenceTtl);
+        redisTemplate.expire(key, presenceTtl, TimeUnit.MILLISECONDS);
+    }
+
+    // 이 노드에 연결된 상담사들의 접속 만료시각 갱신
+    @Scheduled(fixedDelayString = "${learnway.bus.presence-refresh-ms:10000}")
+    public void refreshPresence() {
+        sseFanout.connectedConsultants().forEach(this::connected);
+    }
+
+    @Override
+    public boolean joinRoom(String roomId, String camKey, int capacity) {
+        Long joined = redisTemplate.execute(JOIN_ROOM, List.of(ROOM_KEY + roomId),
+                camKey, String.valueOf(capacity), String.valueOf(roomTtlSeconds));
+        return joined != null && joined == 1L;
+    }
+
+    @Override
+    public boolean leaveRoom(String roomId, String camKey) {
+        Long found = redisTemplate.execute(LEAVE_ROOM, List.of(ROOM_KEY + roomId), camKey);
+        return found != null && found == 1L;
+    }
+}
@@ -0,0 +1,41 @@
+package com.learnway.consult.service;
+
+import java.time.format.DateTimeFormatter;
+
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.learnway.consult.domain.ReservationChangedEvent;
+import com.learnway.consult.dto.ReservationNotice;
+import com.learnway.notification.domain.NotificationType;
+import com.learnway.notification.service.MemberNotificationService;
+
+import lombok.RequiredArgsConstructor;
+
+// 예약 변경 이벤트 -> 상담사 알림 / 예약자 알림함
+// 커밋된 경우에만 notificationExecutor 에서 처리하므로 예약 요청은 저장이 끝나면 바로 응답하고,
+// 롤백된 예약/취소는 알림이 나가지 않는다
+@Component
+@RequiredArgsConstructor
+public class ReservationEventListener {
+
+    private static final DateTimeFormatter BOOKING_TIME = DateTimeFormatter.ofPattern("MM월 dd일 HH:mm");
+
+    private final ReservationNoticeCoalescer reservationNoticeCoalescer;
+    private final MemberNotificationService memberNotificationService;
+
+    @Async("notificationExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        reservationNoticeCoalescer.submit(event.getConsultantId(), event.getNotice());
+
+        ReservationNotice notice = event.getNotice();
+        String time = notice.getBookingStart().format(BOOKING_TIME);
+        String message = notice.getType() == ReservationNotice.Type.CREATED
+                ? time + " 화상상담 예약이 완료되었습니다."
+                : time + " 화상상담 예약이 취소되었습니다.";
+        memberNotificationService.notify(event.getMemberId(), NotificationType.RESERVATION, message, null);
+    }
+}
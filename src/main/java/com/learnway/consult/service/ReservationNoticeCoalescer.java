@@ -0,0 +1,117 @@
+package com.learnway.consult.service;
+
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.learnway.consult.dto.ReservationNotice;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 예약/취소 알림 묶음 발송
+// 상담사별로 windowMs 동안 들어온 예약 변경을 모아 알림 한건(digest)으로 보낸다
+// (수강신청 몰릴때 알림음/토스트가 건마다 울리지 않도록)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationNoticeCoalescer {
+
+    // 7월 3일 14시
+    private static final DateTimeFormatter BOOKING_TIME = new DateTimeFormatterBuilder()
+            .appendText(ChronoField.MONTH_OF_YEAR, TextStyle.FULL_STANDALONE)
+            .appendLiteral(" ")
+            .appendValue(ChronoField.DAY_OF_MONTH)
+            .appendLiteral("일 ")
+            .appendValue(ChronoField.HOUR_OF_DAY)
+            .appendLiteral("시")
+            .toFormatter(Locale.KOREAN);
+
+    private final ConsultantNotifier consultantNotifier;
+
+    private final Map<Long, List<ReservationNotice>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reservation-notice");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${learnway.notification.coalesce-window-ms:2000}")
+    private long windowMs;
+
+    public void submit(Long consultantId, ReservationNotice notice) {
+        if (windowMs <= 0) {
+            consultantNotifier.sendToConsultant(consultantId, render(List.of(notice)));
+            return;
+        }
+        pending.compute(consultantId, (id, notices) -> {
+            if (notices == null) {
+                // 창의 첫 알림일때만 발송 예약
+                notices = new ArrayList<>();
+                scheduler.schedule(() -> flush(id), windowMs, TimeUnit.MILLISECONDS);
+            }
+            notices.add(notice);
+            return notices;
+        });
+    }
+
+    private void flush(Long consultantId) {
+        List<ReservationNotice> notices = pending.remove(consultantId);
+        if (notices == null || notices.isEmpty()) {
+            return;
+        }
+        try {
+            consultantNotifier.sendToConsultant(consultantId, render(notices));
+        } catch (RuntimeException e) {
+            log.warn("예약 알림 발송 실패 : consultantId={}, {}건, {}", consultantId, notices.size(), e.getMessage());
+        }
+    }
+
+    // 한건이면 기존 알림 문구 그대로, 여러건이면 목록으로
+    String render(List<ReservationNotice> notices) {
+        if (notices.size() == 1) {
+            return single(notices.get(0));
+        }
+        long created = notices.stream().filter(n -> n.getType() == ReservationNotice.Type.CREATED).count();
+        long cancelled = notices.size() - created;
+        StringBuilder sb = new StringBuilder("예약 변경 알림 (신규 ")
+                .append(created).append("건 / 취소 ").append(cancelled).append("건)");
+        for (ReservationNotice notice : notices) {
+            sb.append("<br/>")
+              .append(notice.getType() == ReservationNotice.Type.CREATED ? "[신규] " : "[취소] ")
+              .append(notice.getBookingStart().format(BOOKING_TIME))
+              .append(" ").append(notice.getMemberName()).append(" 님");
+        }
+        return sb.toString();
+    }
+
+    private String single(ReservationNotice notice) {
+        String start = notice.getBookingStart().format(BOOKING_TIME);
+        if (notice.getType() == ReservationNotice.Type.CANCELLED) {
+            return "취소알림" + "<br/>" + start + " " + notice.getMemberName() + " 님의" + "<br/>" +
+                   "예약이 취소되었습니다.";
+        }
+        return "신규 예약이 있습니다." + "<br/>" + "예약자 성함 : " + notice.getMemberName() + "<br/>" +
+               "시작 시간 : " + start + "<br/>" + "종료 시간 : " + notice.getBookingEnd().format(BOOKING_TIME);
+    }
+
+    // 종료시 남은 알림은 바로 발송 (상담사 오프라인이면 보관함으로)
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        new ArrayList<>(pending.keySet()).forEach(this::flush);
+    }
+}
@@ -1,28 +1,41 @@
 package com.learnway.consult.service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.Period;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.learnway.consult.domain.Consultant;
 import com.learnway.consult.domain.ConsultantRepository;
+import com.learnway.consult.domain.ReservationChangedEvent;
 import com.learnway.consult.domain.ReservationEntity;
 import com.learnway.consult.domain.ReservationRepository;
 import com.learnway.consult.dto.ReservationDTO;
+import com.learnway.consult.dto.ReservationNotice;
+import com.learnway.consult.dto.ReservationSlotDTO;
 import com.learnway.consult.dto.UserInfoDTO;
 import com.learnway.member.domain.Member;
 import com.learnway.member.domain.MemberGender;
 import com.learnway.member.domain.MemberRepository;
+import com.learnway.global.exceptions.ReservationConflictException;
 
 @Service
 public class ReservationService {
 	
+	// 전체 예약 목록 조회 시작 시각 (MySQL DATETIME 범위 안의 값)
+	private static final LocalDateTime BOARD_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+	private static final int MAX_BOARD_PAGE = 100;
+	
 	private final ReservationRepository reservationRepository;
     
 	@Autowired
@@ -30,15 +43,70 @@ public class ReservationService {
 	
 	@Autowired
 	private MemberRepository memberRepository;
+	
+	@Autowired
+	private ReservationSlotIndex reservationSlotIndex;
+	
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+	
+	// 예약된/빈 시간 조회 최대 기간 (달력 한 화면보다 넉넉하게)
+	@Value("${learnway.reservation.max-range-days:62}")
+	private long maxRangeDays;
     
 	@Autowired
     public ReservationService(ReservationRepository reservationRepository) {
         this.reservationRepository = reservationRepository;
     }
 	
-    // 예약 저장 서비스
+    // 예약 저장 서비스 (같은 상담사의 겹치는 시간 예약은 ReservationConflictException)
+    // 상담사 알림은 커밋 이후 ReservationEventListener 에서 처리
+    @Transactional
     public ReservationEntity save(ReservationEntity reservation) {
-        return reservationRepository.save(reservation);
+        LocalDateTime start = reservation.getBookingStart();
+        LocalDateTime end = reservation.getBookingEnd();
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new IllegalArgumentException("예약 시작/종료 시간이 올바르지 않습니다.");
+        }
+        if (start.isBefore(LocalDateTime.now())) {
+            throw new ReservationConflictException("지나간 시간은 예약할 수 없습니다.");
+        }
+        Long memberId = reservation.getMember() == null ? null : reservation.getMember().getId();
+        ReservationEntity saved = reservationSlotIndex.claim(reservation.getCounselor().getId(), memberId, start, end,
+                () -> reservationRepository.save(reservation));
+        eventPublisher.publishEvent(new ReservationChangedEvent(saved.getId(), saved.getCounselor().getId(), memberId, memberEmail(saved),
+                ReservationNotice.created(memberName(saved), start, end)));
+        return saved;
+    }
+    
+    private String memberName(ReservationEntity reservation) {
+        return reservation.getMember() == null ? null : reservation.getMember().getMemberName();
+    }
+    
+    private String memberEmail(ReservationEntity reservation) {
+        return reservation.getMember() == null ? null : reservation.getMember().getMemberEmail();
+    }
+    
+    // 특정 상담사의 기간내 예약된 시간 (본인 예약 여부 포함)
+    public List<ReservationSlotDTO> getBusySlots(Long consultantId, LocalDateTime from, LocalDateTime to, Long memberId) {
+        checkRange(from, to);
+        return reservationSlotIndex.busy(consultantId, from, to, memberId);
+    }
+    
+    // 특정 상담사의 기간내 비어있는 시간
+    public List<ReservationSlotDTO> getFreeSlots(Long consultantId, LocalDateTime from, LocalDateTime to) {
+        checkRange(from, to);
+        return reservationSlotIndex.free(consultantId, from, to);
+    }
+    
+    // 잘못되거나 maxRangeDays 보다 긴 기간은 IllegalArgumentException
+    private void checkRange(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("조회 기간이 올바르지 않습니다.");
+        }
+        if (from.plusDays(maxRangeDays).isBefore(to)) {
+            throw new IllegalArgumentException("조회 기간은 " + maxRangeDays + "일을 넘을 수 없습니다.");
+        }
     }
     
 	//사이드바에서 상담하기 버튼눌러서 모달창에 보여줄 상담사리스트 조회
@@ -61,9 +129,14 @@ public class ReservationService {
     	return reservationRepository.getReservationsListByCounselor_id(consultant);
     }
     
-    // 예약취소 메소드
-	public void deleteById(Long deleteId) {
-		reservationRepository.deleteById(deleteId);
+    // 예약취소 메소드 (예약 가능시간 인덱스에서도 제거, 상담사 알림은 커밋 이후 처리)
+	@Transactional
+	public void cancel(ReservationEntity reservation) {
+		reservationRepository.deleteById(reservation.getId());
+		reservationSlotIndex.release(reservation.getCounselor().getId(), reservation.getId(), reservation.getBookingStart());
+		eventPublisher.publishEvent(new ReservationChangedEvent(reservation.getId(), reservation.getCounselor().getId(),
+				reservation.getMember() == null ? null : reservation.getMember().getId(), memberEmail(reservation),
+				ReservationNotice.cancelled(memberName(reservation), reservation.getBookingStart(), reservation.getBookingEnd())));
 	}
 
 	// 예약취소 하기전 취소알리주기위하여 정보조회 메소드
@@ -71,20 +144,33 @@ public class ReservationService {
 		return reservationRepository.findById(deleteId);
 	}
 	
-	//상담사 예약 페이지 리스트 조회
+	//상담사 예약 페이지 리스트 조회 (예약자 이름까지 join 쿼리 한번으로 조회)
 	public List<ReservationDTO> getReservationsListByConsultantId(Long counselor_id) {
-	    List<ReservationEntity> list = reservationRepository.getReservationsListByCounselor_id(counselor_id);
-	    
-	    List<ReservationDTO> reservationDTO = list.stream()
-	        .map(reservation -> new ReservationDTO(
-	            reservation.getId(),
-	            reservation.getMember().getMemberName(), 
-	            reservation.getBookingStart().toString(),
-	            reservation.getBookingEnd().toString()
-	        ))
-	        .collect(Collectors.toList());
-	    
-	    return reservationDTO;
+	    return reservationRepository.findBoard(counselor_id, BOARD_START, 0L, Pageable.unpaged());
+	}
+	
+	//상담사 예약 보드 페이지 조회 (after/afterId 는 이전 페이지 마지막 예약의 bookingStart/id)
+	//첫 페이지(null)는 오늘 0시부터 : 오늘/앞으로의 예약을 먼저 보여주고 지난 예약은 getPastReservationBoard 로
+	public List<ReservationDTO> getReservationBoard(Long counselor_id, LocalDateTime after, Long afterId, int size) {
+	    if (after == null) {
+	        after = LocalDate.now().atStartOfDay();
+	        afterId = 0L;
+	    }
+	    return reservationRepository.findBoard(counselor_id, after, afterId == null ? 0L : afterId, boardPage(size));
+	}
+	
+	//상담사 예약 보드 지난 예약 (최근순, before/beforeId 는 이전 페이지 마지막(가장 오래된) 예약의 bookingStart/id)
+	//첫 페이지(null)는 오늘 0시 이전부터
+	public List<ReservationDTO> getPastReservationBoard(Long counselor_id, LocalDateTime before, Long beforeId, int size) {
+	    if (before == null) {
+	        before = LocalDate.now().atStartOfDay();
+	        beforeId = 0L;
+	    }
+	    return reservationRepository.findBoardBefore(counselor_id, before, beforeId == null ? 0L : beforeId, boardPage(size));
+	}
+	
+	private static Pageable boardPage(int size) {
+	    return PageRequest.of(0, Math.max(1, Math.min(size, MAX_BOARD_PAGE)));
 	}
     
     // 상담사 예약리스트에서 유저 정보 확인
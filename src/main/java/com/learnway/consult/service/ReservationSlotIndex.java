@@ -0,0 +1,271 @@
+package com.learnway.consult.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.learnway.consult.domain.ReservationEntity;
+import com.learnway.consult.domain.ReservationRepository;
+import com.learnway.consult.domain.ReservationSlotView;
+import com.learnway.consult.dto.ReservationSlotDTO;
+import com.learnway.global.exceptions.ReservationConflictException;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 상담사별 예약 시간 인덱스
+// - 상담사별로 예약 시작시각 기준 정렬된 map (예약끼리는 겹치지 않으므로 시작시각만으로 구간 검색 가능)
+// - 처음 조회될 때 앞으로 남은 예약만 DB 에서 읽어옴 (지나간 예약은 적재하지 않음)
+// - 예약 확정은 상담사별 striped lock 안에서 겹침 검사 -> 저장 -> 인덱스 반영 순으로 처리해 중복 예약 방지
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationSlotIndex {
+
+    private static final int STRIPES = 64;
+
+    private final ReservationRepository reservationRepository;
+
+    // 상담사 id -> (예약 시작시각 -> 예약)
+    private final Map<Long, NavigableMap<LocalDateTime, Slot>> indexes = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = newLocks();
+
+    @Value("${learnway.reservation.lock-timeout-ms:3000}")
+    private long lockTimeout;
+
+    // 겹치는 예약이 없을 때만 save 를 실행하고 인덱스에 반영
+    // 트랜잭션 안에서 호출되면 롤백시 인덱스에서도 되돌린다
+    public ReservationEntity claim(Long consultantId, Long memberId, LocalDateTime start, LocalDateTime end,
+                                   Supplier<ReservationEntity> save) {
+        ReentrantLock lock = lockFor(consultantId);
+        lock(lock);
+        try {
+            NavigableMap<LocalDateTime, Slot> index = load(consultantId);
+            if (overlaps(index, start, end)) {
+                throw new ReservationConflictException("이미 예약된 시간입니다 : " + start + " ~ " + end);
+            }
+            ReservationEntity saved = save.get();
+            index.put(start, new Slot(saved.getId(), memberId, start, end));
+            afterRollback(() -> remove(consultantId, saved.getId(), start));
+            return saved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 예약 취소시 인덱스에서 제거 (트랜잭션 안이면 커밋된 뒤에 제거해야 취소가 롤백돼도 중복 예약이 생기지 않음)
+    public void release(Long consultantId, Long reservationId, LocalDateTime start) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(consultantId, reservationId, start);
+                }
+            });
+            return;
+        }
+        remove(consultantId, reservationId, start);
+    }
+
+    private void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private void remove(Long consultantId, Long reservationId, LocalDateTime start) {
+        ReentrantLock lock = lockFor(consultantId);
+        lock(lock);
+        try {
+            NavigableMap<LocalDateTime, Slot> index = indexes.get(consultantId);
+            if (index == null) {
+                return;
+            }
+            Slot slot = index.get(start);
+            if (slot != null && slot.id.equals(reservationId)) {
+                index.remove(start);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // [from, to) 구간의 예약 (O(log n + k))
+    public List<ReservationSlotDTO> busy(Long consultantId, LocalDateTime from, LocalDateTime to, Long memberId) {
+        List<ReservationSlotDTO> slots = new ArrayList<>();
+        for (Slot slot : range(load(consultantId), from, to)) {
+            slots.add(new ReservationSlotDTO(slot.id, slot.start, slot.end, Objects.equals(slot.memberId, memberId)));
+        }
+        return slots;
+    }
+
+    // [from, to) 구간에서 예약이 없는 시간들 (O(log n + k))
+    public List<ReservationSlotDTO> free(Long consultantId, LocalDateTime from, LocalDateTime to) {
+        List<ReservationSlotDTO> gaps = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (Slot slot : range(load(consultantId), from, to)) {
+            if (slot.start.isAfter(cursor)) {
+                gaps.add(new ReservationSlotDTO(null, cursor, slot.start, false));
+            }
+            if (slot.end.isAfter(cursor)) {
+                cursor = slot.end;
+            }
+        }
+        if (cursor.isBefore(to)) {
+            gaps.add(new ReservationSlotDTO(null, cursor, to, false));
+        }
+        return gaps;
+    }
+
+    // 아직 인덱스가 없는 상담사들을 쿼리 한번으로 적재 (상담사마다 따로 조회하지 않도록)
+    // DB 조회부터 인덱스 반영까지 해당 상담사들의 lock 을 잡고 처리한다
+    // (조회와 반영 사이에 커밋된 취소가 인덱스가 없어서 무시되고, 조회 시점의 예약이 남는 것을 방지)
+    public void preload(Collection<Long> consultantIds) {
+        List<Long> missing = consultantIds.stream().filter(id -> !indexes.containsKey(id)).toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+        // 교착을 피하도록 stripe 순서대로, 못 잡으면 미리 적재하지 않고 조회할 때 상담사별로 적재
+        List<ReentrantLock> held = new ArrayList<>();
+        try {
+            for (int stripe : missing.stream().mapToInt(ReservationSlotIndex::indexOf).distinct().sorted().toArray()) {
+                ReentrantLock lock = locks[stripe];
+                if (!lock.tryLock(lockTimeout, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+                held.add(lock);
+            }
+            List<Long> stillMissing = missing.stream().filter(id -> !indexes.containsKey(id)).toList();
+            if (stillMissing.isEmpty()) {
+                return;
+            }
+            Map<Long, NavigableMap<LocalDateTime, Slot>> loaded = new HashMap<>();
+            stillMissing.forEach(id -> loaded.put(id, new ConcurrentSkipListMap<>()));
+            for (ReservationSlotView view : reservationRepository.findUpcomingSlotsIn(stillMissing, LocalDateTime.now())) {
+                loaded.get(view.getConsultantId()).put(view.getBookingStart(), toSlot(view));
+            }
+            indexes.putAll(loaded);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            held.forEach(ReentrantLock::unlock);
+        }
+    }
+
+    // 지나간 예약은 인덱스에서 제거
+    @Scheduled(fixedDelayString = "${learnway.reservation.prune-interval-ms:3600000}")
+    public void prune() {
+        LocalDateTime now = LocalDateTime.now();
+        indexes.forEach((consultantId, index) -> {
+            ReentrantLock lock = lockFor(consultantId);
+            lock.lock();
+            try {
+                index.headMap(now, false).values().removeIf(slot -> !slot.end.isAfter(now));
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    // 시작시각 기준으로 바로 앞 예약이 start 이후에 끝나거나, [start, end) 안에서 시작하는 예약이 있으면 겹침
+    private boolean overlaps(NavigableMap<LocalDateTime, Slot> index, LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, Slot> before = index.lowerEntry(start);
+        if (before != null && before.getValue().end.isAfter(start)) {
+            return true;
+        }
+        return !index.subMap(start, true, end, false).isEmpty();
+    }
+
+    private Iterable<Slot> range(NavigableMap<LocalDateTime, Slot> index, LocalDateTime from, LocalDateTime to) {
+        Map.Entry<LocalDateTime, Slot> before = index.lowerEntry(from);
+        LocalDateTime head = before != null && before.getValue().end.isAfter(from) ? before.getKey() : from;
+        return index.subMap(head, true, to, false).values();
+    }
+
+    // 처음 조회되는 상담사는 DB 에서 앞으로 남은 예약을 읽어 인덱스 생성
+    private NavigableMap<LocalDateTime, Slot> load(Long consultantId) {
+        NavigableMap<LocalDateTime, Slot> index = indexes.get(consultantId);
+        if (index != null) {
+            return index;
+        }
+        ReentrantLock lock = lockFor(consultantId);
+        lock(lock);
+        try {
+            index = indexes.get(consultantId);
+            if (index == null) {
+                index = new ConcurrentSkipListMap<>();
+                for (ReservationSlotView view : reservationRepository.findUpcomingSlots(consultantId, LocalDateTime.now())) {
+                    index.put(view.getBookingStart(), toSlot(view));
+                }
+                indexes.put(consultantId, index);
+                log.debug("예약 인덱스 적재 : consultantId={}, {}건", consultantId, index.size());
+            }
+            return index;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Slot toSlot(ReservationSlotView view) {
+        return new Slot(view.getId(), view.getMemberId(), view.getBookingStart(), view.getBookingEnd());
+    }
+
+    private void lock(ReentrantLock lock) {
+        try {
+            if (!lock.tryLock(lockTimeout, TimeUnit.MILLISECONDS)) {
+                throw new ReservationConflictException("예약 요청이 몰려 처리하지 못했습니다. 다시 시도해주세요.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReservationConflictException("예약 처리가 중단되었습니다.");
+        }
+    }
+
+    private ReentrantLock lockFor(Long consultantId) {
+        return locks[indexOf(consultantId)];
+    }
+
+    private static int indexOf(Long consultantId) {
+        return Long.hashCode(consultantId) & (STRIPES - 1);
+    }
+
+    private static ReentrantLock[] newLocks() {
+        ReentrantLock[] locks = new ReentrantLock[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    @RequiredArgsConstructor
+    private static final class Slot {
+        private final Long id;
+        private final Long memberId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+    }
+}
@@ -0,0 +1,137 @@
+package com.learnway.consult.service;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.learnway.consult.domain.ReservationRepository;
+import com.learnway.consult.dto.ReservationDTO;
+import com.learnway.consult.dto.StudentOverviewDTO;
+import com.learnway.consult.dto.UserInfoDTO;
+import com.learnway.exam.domain.ScoreRepository;
+import com.learnway.member.domain.Member;
+import com.learnway.member.domain.MemberRepository;
+import com.learnway.schedule.domain.DailyAchieve;
+import com.learnway.schedule.domain.DailyAchieveRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// 상담 준비용 학생 대시보드
+// 프로필 / 최근 성적 / 이번달 달성률 / 예약 이력을 queryExecutor 에서 동시에 조회해 합친다
+// (응답시간 = 가장 느린 조회, 제한시간을 넘긴 항목은 비워서 응답)
+@Slf4j
+@Service
+public class StudentOverviewService {
+
+    private final MemberRepository memberRepository;
+    private final ScoreRepository scoreRepository;
+    private final DailyAchieveRepository dailyAchieveRepository;
+    private final ReservationRepository reservationRepository;
+    private final Executor queryExecutor;
+
+    @Value("${learnway.overview.timeout-ms:3000}")
+    private long timeoutMs;
+
+    @Value("${learnway.overview.recent-scores:10}")
+    private int recentScores;
+
+    @Value("${learnway.overview.recent-reservations:10}")
+    private int recentReservations;
+
+    public StudentOverviewService(MemberRepository memberRepository, ScoreRepository scoreRepository,
+                                  DailyAchieveRepository dailyAchieveRepository, ReservationRepository reservationRepository,
+                                  @Qualifier("queryExecutor") Executor queryExecutor) {
+        this.memberRepository = memberRepository;
+        this.scoreRepository = scoreRepository;
+        this.dailyAchieveRepository = dailyAchieveRepository;
+        this.reservationRepository = reservationRepository;
+        this.queryExecutor = queryExecutor;
+    }
+
+    // 상담사가 해당 학생과 예약(지난 예약 포함)이 있는지
+    public boolean hasReservationWith(Long consultantId, Long memberId) {
+        return reservationRepository.existsByCounselor_IdAndMember_Id(consultantId, memberId);
+    }
+
+    // 학생이 없으면 empty
+    public Optional<StudentOverviewDTO> getOverview(Long memberId) {
+        LocalDate today = LocalDate.now();
+
+        CompletableFuture<Optional<Member>> profile = async(() -> memberRepository.findById(memberId));
+        CompletableFuture<List<StudentOverviewDTO.ScoreSummary>> scores = async(() ->
+                scoreRepository.findRecentSummaries(memberId, PageRequest.of(0, recentScores)).stream()
+                        .map(view -> new StudentOverviewDTO.ScoreSummary(view.getExamName(), view.getExamDate(),
+                                view.getSubjectName(), view.getScore(), view.getGrade()))
+                        .collect(Collectors.toList()));
+        CompletableFuture<List<DailyAchieve>> achieves = async(() ->
+                dailyAchieveRepository.findByMemberPkAndDateBetween(memberId, today.withDayOfMonth(1), today));
+        CompletableFuture<List<ReservationDTO>> reservations = async(() ->
+                reservationRepository.findHistoryByMember(memberId, PageRequest.of(0, recentReservations)));
+
+        // 모든 조회가 같은 제한시간을 공유 (프로필이 없으면 학생 없음으로 처리)
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        List<String> partial = new ArrayList<>();
+        Optional<Member> member = await(profile, deadline, Optional.empty(), partial, "profile");
+        if (member.isEmpty()) {
+            return Optional.empty();
+        }
+
+        StudentOverviewDTO overview = new StudentOverviewDTO();
+        overview.setProfile(toProfile(member.get()));
+        overview.setRecentScores(await(scores, deadline, List.of(), partial, "recentScores"));
+        List<DailyAchieve> monthly = await(achieves, deadline, List.of(), partial, "monthlyAchievement");
+        overview.setMonthlyAchievement(monthly.stream()
+                .map(achieve -> new StudentOverviewDTO.DailyRate(achieve.getDate(), achieve.getAvgAchieveRate()))
+                .collect(Collectors.toList()));
+        overview.setMonthlyAverage(monthly.stream().mapToDouble(DailyAchieve::getAvgAchieveRate).average().orElse(0));
+        overview.setReservations(await(reservations, deadline, List.of(), partial, "reservations"));
+        overview.setPartial(partial);
+        return Optional.of(overview);
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, queryExecutor);
+    }
+
+    private <T> T await(CompletableFuture<T> future, long deadline, T fallback, List<String> partial, String name) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("학생 대시보드 {} 조회 실패 : {}", name, e.toString());
+        }
+        future.cancel(false);
+        partial.add(name);
+        return fallback;
+    }
+
+    private UserInfoDTO toProfile(Member member) {
+        String age = member.getMemberBirth() == null ? null
+                : String.valueOf(Period.between(member.getMemberBirth(), LocalDate.now()).getYears());
+        return new UserInfoDTO(
+                member.getId(),
+                member.getMemberName(),
+                age,
+                member.getMemberGender() == null ? null : member.getMemberGender().name(),
+                member.getMemberPhone(),
+                member.getMemberEmail(),
+                member.getMemberAddress() + " " + member.getMemberDetailadd(),
+                member.getMemberSchool(),
+                member.getMemberGrade(),
+                member.getMemberImage(),
+                null);
+    }
+}
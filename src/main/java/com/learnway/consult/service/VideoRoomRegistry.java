@@ -0,0 +1,184 @@
+package com.learnway.consult.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 화상상담 방(Room) 참여자 관리
+// - 입장/퇴장/정원 검사는 NotificationBus 에서 원자적으로 처리
+// - 같은 방의 버스 입장/퇴장과 세션 정보 갱신은 방별 striped lock 안에서 순서대로 (redis 버스 호출을 맵 잠금 안에서 하지 않음)
+// - 이 서버의 STOMP 세션별 참여 정보를 들고 있다가 세션이 끊기면(탭 강제종료 등) 자동 퇴장
+// - 입장/시그널링이 오래 없는 참여자는 주기적으로 정리
+// - 시그널링 메세지를 받을 상대 세션을 찾는 용도로도 사용 (방 단위 1:1 전달)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VideoRoomRegistry {
+
+    private static final int STRIPES = 64;
+
+    private final NotificationBus notificationBus;
+    private final ReentrantLock[] locks = newLocks();
+
+    // STOMP 세션 id -> 참여 정보
+    private final Map<String, Set<Membership>> sessionMemberships = new ConcurrentHashMap<>();
+    // 방 id -> (camKey -> STOMP 세션 id)
+    private final Map<String, Map<String, String>> roomSessions = new ConcurrentHashMap<>();
+    // 참여 정보 -> 마지막 활동 시각
+    private final Map<Membership, Long> lastActivity = new ConcurrentHashMap<>();
+
+    @Value("${learnway.video.room-capacity:2}")
+    private int capacity;
+
+    @Value("${learnway.video.idle-ttl-ms:10800000}")
+    private long idleTtl;
+
+    // 입장 (이미 참여중이면 성공, 정원 초과시 false)
+    // 같은 방의 입장/퇴장은 방 lock 안에서 처리해서 camKey 의 세션 교체와 버스 퇴장이 엇갈리지 않게 한다
+    public boolean join(String roomId, String camKey, String sessionId) {
+        ReentrantLock lock = lockFor(roomId);
+        lock.lock();
+        try {
+            if (!notificationBus.joinRoom(roomId, camKey, capacity)) {
+                return false;
+            }
+            if (sessionId != null) {
+                // 새로고침 등으로 같은 camKey 가 다시 입장하면 새 세션으로 교체
+                roomSessions.computeIfAbsent(roomId, id -> new ConcurrentHashMap<>()).put(camKey, sessionId);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (sessionId != null) {
+            Membership membership = new Membership(roomId, camKey, sessionId);
+            sessionMemberships.computeIfAbsent(sessionId, id -> ConcurrentHashMap.newKeySet()).add(membership);
+            lastActivity.put(membership, System.currentTimeMillis());
+        }
+        return true;
+    }
+
+    // 퇴장 (방이 없거나 camKey 가 이미 다른 세션으로 다시 입장했으면 그대로 두고 false)
+    public boolean leave(String roomId, String camKey, String sessionId) {
+        return release(new Membership(roomId, camKey, sessionId));
+    }
+
+    // 방에 참여중인 camKey 의 세션 id (이 서버에 연결된 경우만)
+    public String sessionOf(String roomId, String camKey) {
+        Map<String, String> sessions = roomSessions.get(roomId);
+        return sessions == null ? null : sessions.get(camKey);
+    }
+
+    // 세션이 해당 방에 참여중인지
+    public boolean isMember(String roomId, String sessionId) {
+        Map<String, String> sessions = roomSessions.get(roomId);
+        return sessions != null && sessionId != null && sessions.containsValue(sessionId);
+    }
+
+    // 같은 방의 다른 참여자 세션들
+    public List<String> otherSessions(String roomId, String sessionId) {
+        Map<String, String> sessions = roomSessions.get(roomId);
+        if (sessions == null) {
+            return List.of();
+        }
+        return sessions.values().stream()
+                .filter(id -> !id.equals(sessionId))
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    // offer/answer/iceCandidate 를 보내는 세션은 활동중으로 본다
+    public void touch(String sessionId) {
+        Set<Membership> memberships = sessionId == null ? null : sessionMemberships.get(sessionId);
+        if (memberships == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        memberships.forEach(membership -> lastActivity.computeIfPresent(membership, (m, at) -> now));
+    }
+
+    // 세션 종료시 해당 세션의 camKey 를 모든 방에서 제거
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Set<Membership> memberships = sessionMemberships.remove(event.getSessionId());
+        if (memberships == null) {
+            return;
+        }
+        for (Membership membership : memberships) {
+            release(membership);
+            log.info("세션 종료로 방 퇴장 : roomId={}, camKey={}", membership.roomId, membership.camKey);
+        }
+    }
+
+    // idleTtl 동안 활동이 없는 참여자 정리
+    @Scheduled(fixedDelayString = "${learnway.video.sweep-interval-ms:60000}")
+    public void sweep() {
+        long expiredBefore = System.currentTimeMillis() - idleTtl;
+        lastActivity.forEach((membership, at) -> {
+            if (at < expiredBefore && lastActivity.remove(membership, at)) {
+                release(membership);
+                log.info("장시간 미활동 참여자 정리 : roomId={}, camKey={}", membership.roomId, membership.camKey);
+            }
+        });
+    }
+
+    // 참여 정보 정리 후 camKey 가 아직 이 세션 것일 때만 버스에서 퇴장
+    // (새로고침으로 새 세션이 같은 camKey 로 입장한 뒤 이전 세션 종료 이벤트가 와도 새 세션은 방에 남음)
+    private boolean release(Membership membership) {
+        lastActivity.remove(membership);
+        if (membership.sessionId != null) {
+            sessionMemberships.computeIfPresent(membership.sessionId, (id, set) -> {
+                set.remove(membership);
+                return set.isEmpty() ? null : set;
+            });
+        }
+        ReentrantLock lock = lockFor(membership.roomId);
+        lock.lock();
+        try {
+            if (membership.sessionId != null) {
+                Map<String, String> sessions = roomSessions.get(membership.roomId);
+                if (sessions == null || !sessions.remove(membership.camKey, membership.sessionId)) {
+                    return false;
+                }
+                if (sessions.isEmpty()) {
+                    roomSessions.remove(membership.roomId, sessions);
+                }
+            }
+            return notificationBus.leaveRoom(membership.roomId, membership.camKey);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(String roomId) {
+        return locks[roomId.hashCode() & (STRIPES - 1)];
+    }
+
+    private static ReentrantLock[] newLocks() {
+        ReentrantLock[] locks = new ReentrantLock[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class Membership {
+        private final String roomId;
+        private final String camKey;
+        private final String sessionId;
+    }
+}
@@ -3,6 +3,8 @@ package com.learnway.exam.domain;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -21,4 +23,9 @@ public interface ScoreRepository extends JpaRepository<Score, Long> {
     List<Score> findAllByMemIdAndExam_ExamId(Long memId, Long examId);
     List<Score> findAllByMemIdAndExam_ExamIdAndSubject_SubjectCode(Long memId, Long examId, String subjectCode);
 
+    // 최근 성적 요약 (시험/과목 join 한번으로 필요한 컬럼만)
+    @Query("SELECT e.examName AS examName, e.examDate AS examDate, sub.subject AS subjectName, s.scoreScore AS score, s.scoreGrade AS grade "
+            + "FROM Score s JOIN s.exam e JOIN s.subject sub WHERE s.memId = :memId ORDER BY e.examDate DESC, s.scoreId DESC")
+    List<ScoreSummaryView> findRecentSummaries(@Param("memId") Long memId, Pageable pageable);
+
 }
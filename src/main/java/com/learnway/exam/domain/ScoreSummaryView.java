@@ -0,0 +1,17 @@
+package com.learnway.exam.domain;
+
+import java.util.Date;
+
+// 최근 성적 요약 조회 결과 (상담사 학생 대시보드)
+public interface ScoreSummaryView {
+
+    String getExamName();
+
+    Date getExamDate();
+
+    String getSubjectName();
+
+    int getScore();
+
+    int getGrade();
+}
@@ -0,0 +1,39 @@
+package com.learnway.global.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.learnway.global.dto.BroadcastMessageDTO;
+import com.learnway.global.dto.BroadcastResultDTO;
+import com.learnway.global.service.BroadcastService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/api")
+public class BroadcastRestController {
+
+    private final BroadcastService broadcastService;
+
+    // 접속중인 모든 회원/상담사에게 전체 공지 발송 (관리자만, /** permitAll 이 /admin/** 규칙보다 먼저 적용되므로 여기서 검사)
+    @PostMapping("/broadcast")
+    public ResponseEntity<BroadcastResultDTO> broadcast(@Valid @RequestBody BroadcastMessageDTO request,
+                                                        Authentication authentication) {
+        if (!isAdmin(authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(broadcastService.broadcast(request.getMessage()));
+    }
+
+    private boolean isAdmin(Authentication authentication) {
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+}
@@ -0,0 +1,22 @@
+package com.learnway.global.dto;
+
+import java.time.LocalDateTime;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 관리자 전체 공지 (요청 본문 / SSE, STOMP 발송 내용)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastMessageDTO {
+
+    @NotBlank(message = "공지 내용을 입력해 주세요!")
+    @Size(max = 500, message = "공지 내용은 500자 이내로 입력해 주세요!")
+    private String message;
+
+    private LocalDateTime sentAt;       // 발송 시각 (서버에서 채움)
+}
@@ -0,0 +1,16 @@
+package com.learnway.global.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 전체 공지 발송 결과
+@Getter
+@AllArgsConstructor
+public class BroadcastResultDTO {
+    private final int sseConnections;       // 발송 대상 SSE 연결 수 (회원 + 상담사)
+    private final long delivered;           // 쓰기 성공
+    private final long failed;              // 쓰기 실패 / 대기열 초과로 정리된 연결
+    private final long pending;             // 제한시간까지 끝나지 않은 연결
+    private final int stompSubscriptions;   // /topic/broadcast 구독 수 (브로커가 전달)
+    private final long elapsedMs;
+}
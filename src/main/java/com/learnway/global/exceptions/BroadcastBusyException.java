@@ -0,0 +1,12 @@
+package com.learnway.global.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value=HttpStatus.TOO_MANY_REQUESTS, reason="broadcast already in progress")
+public class BroadcastBusyException extends RuntimeException {
+	public BroadcastBusyException(String msg) {
+		super(msg);
+	}
+
+}
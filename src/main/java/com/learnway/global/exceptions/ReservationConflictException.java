@@ -0,0 +1,12 @@
+package com.learnway.global.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value=HttpStatus.CONFLICT, reason="reservation time not available")
+public class ReservationConflictException extends RuntimeException {
+	public ReservationConflictException(String msg) {
+		super(msg);
+	}
+
+}
@@ -0,0 +1,101 @@
+package com.learnway.global.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.learnway.consult.service.ConsultantSseFanout;
+import com.learnway.global.dto.BroadcastMessageDTO;
+import com.learnway.global.dto.BroadcastResultDTO;
+import com.learnway.global.exceptions.BroadcastBusyException;
+import com.learnway.notification.service.MemberSseFanout;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 관리자 전체 공지 : 접속중인 모든 회원/상담사 SSE 연결과 STOMP 구독자에게 한번에 발송
+// - SSE 는 연결을 묶음으로 나눠 sseExecutor 에서 병렬로 쓰고, 제한시간까지 연결별 결과를 집계
+// - STOMP 는 /topic/broadcast 로 한번 보내면 브로커가 구독자에게 전달
+// - 동시에 진행할 수 있는 전체 발송 수를 제한 (초과 요청은 429)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BroadcastService {
+
+    public static final String STOMP_DESTINATION = "/topic/broadcast";
+
+    private final MemberSseFanout memberSseFanout;
+    private final ConsultantSseFanout consultantSseFanout;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry simpUserRegistry;
+
+    @Value("${learnway.broadcast.batch-size:250}")
+    private int batchSize;
+
+    @Value("${learnway.broadcast.timeout-ms:3000}")
+    private long timeoutMs;
+
+    @Value("${learnway.broadcast.max-concurrent:1}")
+    private int maxConcurrent;
+
+    private Semaphore permits;
+
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(maxConcurrent);
+    }
+
+    public BroadcastResultDTO broadcast(String message) {
+        if (!permits.tryAcquire()) {
+            throw new BroadcastBusyException("이전 전체 공지를 발송하고 있습니다. 잠시 후 다시 시도해주세요.");
+        }
+        try {
+            long started = System.nanoTime();
+            BroadcastMessageDTO payload = new BroadcastMessageDTO(message, LocalDateTime.now());
+
+            int stompSubscriptions = simpUserRegistry.findSubscriptions(
+                    subscription -> STOMP_DESTINATION.equals(subscription.getDestination())).size();
+            messagingTemplate.convertAndSend(STOMP_DESTINATION, payload);
+
+            // 같은 프레임을 모든 연결에서 공유 (연결마다 직렬화하지 않음)
+            Set<DataWithMediaType> frame = SseEmitter.event().name("broadcast").data(payload).build();
+            List<BroadcastTracker> trackers = List.of(
+                    memberSseFanout.broadcast(frame, batchSize),
+                    consultantSseFanout.broadcast(frame, batchSize));
+
+            long deadline = started + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            for (BroadcastTracker tracker : trackers) {
+                try {
+                    tracker.await(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+
+            BroadcastResultDTO result = new BroadcastResultDTO(
+                    trackers.stream().mapToInt(BroadcastTracker::getTotal).sum(),
+                    trackers.stream().mapToLong(BroadcastTracker::getDelivered).sum(),
+                    trackers.stream().mapToLong(BroadcastTracker::getFailed).sum(),
+                    trackers.stream().mapToLong(BroadcastTracker::getPending).sum(),
+                    stompSubscriptions,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            log.info("전체 공지 발송 : SSE {}건 (성공 {}, 실패 {}, 미완료 {}), STOMP 구독 {}건, {}ms",
+                    result.getSseConnections(), result.getDelivered(), result.getFailed(), result.getPending(),
+                    result.getStompSubscriptions(), result.getElapsedMs());
+            return result;
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.learnway.global.service;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 전체 발송 결과 집계 (연결별 성공/실패, 제한시간까지 끝나지 않은 건은 pending)
+public class BroadcastTracker {
+
+    private final int total;
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final CountDownLatch remaining;
+
+    BroadcastTracker(int total) {
+        this.total = total;
+        this.remaining = new CountDownLatch(total);
+    }
+
+    void delivered() {
+        delivered.increment();
+        remaining.countDown();
+    }
+
+    void failed() {
+        failed.increment();
+        remaining.countDown();
+    }
+
+    // 모든 연결의 결과가 나오면 true
+    public boolean await(long timeoutMs) throws InterruptedException {
+        return remaining.await(Math.max(0, timeoutMs), TimeUnit.MILLISECONDS);
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public long getDelivered() {
+        return delivered.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getPending() {
+        return Math.max(0, total - getDelivered() - getFailed());
+    }
+}
@@ -0,0 +1,283 @@
+package com.learnway.global.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import lombok.extern.slf4j.Slf4j;
+
+// SSE 연결 관리 및 발송 (상담사 / 회원 알림 공통)
+// - 사용자(PK) 한명당 여러 연결(브라우저 탭) 유지
+// - 발송은 sseExecutor 에서 연결별 대기열 순서대로 처리 (요청 스레드는 대기열에 넣기만 함)
+// - 주기적으로 heartbeat 주석을 보내고, 쓰기 실패/지연된 연결은 정리
+// - 전체 발송(broadcast)은 연결을 묶음으로 나눠 묶음당 작업 하나로 처리하고 결과를 BroadcastTracker 로 집계
+@Slf4j
+public abstract class SseFanout {
+
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final String label;     // 로그 구분용 (상담사 / 회원)
+    private final Executor sseExecutor;
+
+    @Value("${learnway.sse.emitter-timeout-ms:1800000}")
+    private long emitterTimeout;
+
+    @Value("${learnway.sse.write-timeout-ms:10000}")
+    private long writeTimeout;
+
+    @Value("${learnway.sse.max-pending:256}")
+    private int maxPending;
+
+    protected SseFanout(String label, Executor sseExecutor) {
+        this.label = label;
+        this.sseExecutor = sseExecutor;
+    }
+
+    // 새 연결 등록 (같은 사용자의 기존 탭은 그대로 유지)
+    public SseEmitter connect(Long id) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout);
+        Connection connection = new Connection(id, emitter);
+
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> {
+            remove(connection);
+            emitter.complete();
+        });
+        emitter.onError(e -> remove(connection));
+
+        connections.compute(id, (key, set) -> {
+            if (set == null) {
+                set = ConcurrentHashMap.newKeySet();
+            }
+            set.add(connection);
+            return set;
+        });
+        log.info("{} SSE 연결 : id={}, 연결수={}", label, id, connectionCount(id));
+        return emitter;
+    }
+
+    public boolean isConnected(Long id) {
+        return connections.containsKey(id);
+    }
+
+    public Set<Long> connectedIds() {
+        return connections.keySet();
+    }
+
+    public int connectionCount(Long id) {
+        Set<Connection> set = connections.get(id);
+        return set == null ? 0 : set.size();
+    }
+
+    // 사용자의 모든 연결에 이벤트 발송 (비동기)
+    public void send(Long id, Set<DataWithMediaType> frame) {
+        Set<Connection> set = connections.get(id);
+        if (set == null) {
+            return;
+        }
+        for (Connection connection : set) {
+            enqueue(connection, frame);
+        }
+    }
+
+    // 모든 연결에 같은 이벤트 발송
+    // 연결마다 drain 작업을 만들면 수천 개가 한번에 풀 대기열로 들어가므로, batchSize 개씩 묶어 작업 하나에서 차례로 쓴다
+    // 풀이 가득 차면 호출한 스레드에서 직접 처리 (발송 속도만큼만 받아들이는 backpressure)
+    public BroadcastTracker broadcast(Set<DataWithMediaType> frame, int batchSize) {
+        List<Connection> targets = new ArrayList<>();
+        connections.values().forEach(targets::addAll);
+        BroadcastTracker tracker = new BroadcastTracker(targets.size());
+        for (int from = 0; from < targets.size(); from += batchSize) {
+            List<Connection> batch = targets.subList(from, Math.min(from + batchSize, targets.size()));
+            Runnable task = () -> batch.forEach(connection -> deliverNow(connection, new Outgoing(frame, tracker)));
+            try {
+                sseExecutor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        }
+        return tracker;
+    }
+
+    // 대기열에 넣고, 다른 스레드가 쓰는 중이 아니면 현재 스레드에서 바로 비운다
+    private void deliverNow(Connection connection, Outgoing outgoing) {
+        if (offer(connection, outgoing) && connection.scheduled.compareAndSet(false, true)) {
+            drain(connection);
+        }
+    }
+
+    // 연결이 살아있는지 확인하기 위한 heartbeat (프록시 idle timeout 방지)
+    @Scheduled(fixedDelayString = "${learnway.sse.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        Set<DataWithMediaType> frame = SseEmitter.event().comment("heartbeat").build();
+        connections.values().forEach(set -> set.forEach(connection -> enqueue(connection, frame)));
+    }
+
+    // 쓰기가 writeTimeout 이상 걸리고 있는 연결 정리
+    @Scheduled(fixedDelayString = "${learnway.sse.reap-interval-ms:5000}")
+    public void reap() {
+        long now = System.currentTimeMillis();
+        connections.values().forEach(set -> set.forEach(connection -> {
+            long startedAt = connection.writeStartedAt;
+            if (startedAt != 0 && now - startedAt > writeTimeout) {
+                evict(connection, "write timeout");
+            }
+        }));
+    }
+
+    private void enqueue(Connection connection, Set<DataWithMediaType> frame) {
+        if (offer(connection, new Outgoing(frame, null))) {
+            schedule(connection);
+        }
+    }
+
+    private boolean offer(Connection connection, Outgoing outgoing) {
+        if (connection.closed) {
+            outgoing.failed();
+            return false;
+        }
+        if (connection.pendingCount.incrementAndGet() > maxPending) {
+            outgoing.failed();
+            evict(connection, "pending overflow");
+            return false;
+        }
+        connection.pending.offer(outgoing);
+        if (connection.closed) {
+            // 넣는 사이 정리된 연결이면 남은 발송은 실패로 처리
+            failPending(connection);
+            return false;
+        }
+        return true;
+    }
+
+    private void schedule(Connection connection) {
+        if (!connection.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sseExecutor.execute(() -> drain(connection));
+        } catch (RejectedExecutionException e) {
+            // 풀이 가득 찬 경우 대기열은 그대로 두고 다음 발송/heartbeat 때 다시 시도
+            connection.scheduled.set(false);
+            log.warn("SSE 발송 풀 포화 : {} id={}", label, connection.id);
+        }
+    }
+
+    private void drain(Connection connection) {
+        try {
+            Outgoing outgoing;
+            while (!connection.closed && (outgoing = connection.pending.poll()) != null) {
+                connection.pendingCount.decrementAndGet();
+                connection.writeStartedAt = System.currentTimeMillis();
+                try {
+                    connection.emitter.send(outgoing.frame);
+                    outgoing.delivered();
+                } catch (IOException | IllegalStateException e) {
+                    outgoing.failed();
+                    evict(connection, e.getMessage());
+                    return;
+                } finally {
+                    connection.writeStartedAt = 0;
+                }
+            }
+            if (connection.closed) {
+                // reaper 가 쓰기 중에 정리한 연결은 쓰기가 끝난 뒤 여기서 닫는다
+                completeQuietly(connection);
+            }
+        } finally {
+            connection.scheduled.set(false);
+            if (!connection.closed && !connection.pending.isEmpty()) {
+                schedule(connection);
+            }
+        }
+    }
+
+    private void evict(Connection connection, String reason) {
+        if (connection.closed) {
+            return;
+        }
+        connection.closed = true;
+        failPending(connection);
+        remove(connection);
+        log.info("{} SSE 연결 정리 : id={}, 사유={}", label, connection.id, reason);
+        // 쓰기 중인 연결은 emitter 락을 잡고 있으므로 drain 쪽에서 닫도록 둔다
+        if (connection.writeStartedAt == 0 && !connection.scheduled.get()) {
+            completeQuietly(connection);
+        }
+    }
+
+    private void completeQuietly(Connection connection) {
+        try {
+            connection.emitter.complete();
+        } catch (Exception e) {
+            log.debug("SSE 연결 종료 중 오류 : {}", e.getMessage());
+        }
+    }
+
+    private void failPending(Connection connection) {
+        Outgoing outgoing;
+        while ((outgoing = connection.pending.poll()) != null) {
+            outgoing.failed();
+        }
+    }
+
+    private void remove(Connection connection) {
+        connection.closed = true;
+        failPending(connection);
+        connections.computeIfPresent(connection.id, (key, set) -> {
+            set.remove(connection);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static final class Connection {
+        private final Long id;
+        private final SseEmitter emitter;
+        private final Queue<Outgoing> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long writeStartedAt;
+        private volatile boolean closed;
+
+        private Connection(Long id, SseEmitter emitter) {
+            this.id = id;
+            this.emitter = emitter;
+        }
+    }
+
+    // 대기열 항목 (전체 발송이면 결과를 tracker 에 기록)
+    private static final class Outgoing {
+        private final Set<DataWithMediaType> frame;
+        private final BroadcastTracker tracker;
+
+        private Outgoing(Set<DataWithMediaType> frame, BroadcastTracker tracker) {
+            this.frame = frame;
+            this.tracker = tracker;
+        }
+
+        private void delivered() {
+            if (tracker != null) {
+                tracker.delivered();
+            }
+        }
+
+        private void failed() {
+            if (tracker != null) {
+                tracker.failed();
+            }
+        }
+    }
+}
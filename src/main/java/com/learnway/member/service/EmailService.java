@@ -62,6 +62,30 @@ public class EmailService {
         }
     }
 
+    // 안내 메일 전송 메서드 (상담 리마인더 등)
+    public boolean sendNoticeEmail(String email, String subject, String text) {
+        try {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true);
+
+            helper.setTo(email);
+            helper.setFrom(fromEmail);
+            helper.setSubject(subject);
+            helper.setText("<div style='text-align: center;'>" +
+                    "<img src='cid:logoImage' alt='Logo' style='width: 100px; margin-bottom: 20px;'/>" +
+                    "<p>" + text + "</p>" +
+                    "</div>", true);
+
+            helper.addInline("logoImage", new ClassPathResource("static/img/mainLogo.png"));
+            mailSender.send(message);
+
+            return true;
+        } catch (MessagingException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
     // 이메일 인증 코드 검증 메서드
     public boolean verifyEmail(String email, String code) {
         String storedCode = verificationCodes.get(email); // 저장된 인증 코드 가져오기
@@ -20,6 +20,8 @@ import com.learnway.member.domain.Member;
 import com.learnway.notice.domain.Notice;
 import com.learnway.notice.domain.NoticeRepository;
 import com.learnway.notice.dto.NoticeDto;
+import com.learnway.notification.domain.NotificationType;
+import com.learnway.notification.service.MemberNotificationService;
 
 import jakarta.transaction.Transactional;
 
@@ -32,6 +34,9 @@ public class NoticeService {
 	@Autowired
 	NoticeRepository noticeRepository;
 
+	@Autowired
+	MemberNotificationService memberNotificationService;
+
 	//페이지 처리
 	public Page<Notice> noticeList(Pageable pageable) {
 		return noticeRepository.findAllByOrderByCreateDateDesc(pageable);
@@ -72,8 +77,11 @@ public class NoticeService {
 		notice.setMember(member);
 		notice.setMember(dto.getMemberId());
 
-		noticeRepository.save(notice);
+		Notice saved = noticeRepository.save(notice);
 
+		//전체 회원 알림함에 새 공지 알림
+		memberNotificationService.notifyAllMembers(NotificationType.NOTICE,
+				"새 공지사항 : " + saved.getNoticeTitle(), "/notice/detail/" + saved.getNoticeId());
 	}
 
 	//글수정
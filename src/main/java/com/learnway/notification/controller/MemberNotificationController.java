@@ -0,0 +1,67 @@
+package com.learnway.notification.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.learnway.member.service.CustomUserDetails;
+import com.learnway.notification.dto.MemberNotificationDTO;
+import com.learnway.notification.service.MemberNotificationService;
+
+import lombok.RequiredArgsConstructor;
+
+// 회원 알림 (SSE 구독 / 알림함 / 읽음 처리)
+@RestController
+@RequiredArgsConstructor
+public class MemberNotificationController {
+
+    private final MemberNotificationService memberNotificationService;
+
+    // 로그인한 회원의 알림 스트림 (예약/공지/채팅/일정 알림과 안읽은 개수)
+    @GetMapping("/sse/notifications")
+    public SseEmitter subscribe(Authentication authentication) {
+        return memberNotificationService.subscribe(memberId(authentication));
+    }
+
+    // 알림함 최신순 페이지 (다음 페이지는 마지막 알림 id 를 before 로 전달)
+    @GetMapping("/api/notifications")
+    public List<MemberNotificationDTO> getNotifications(Authentication authentication,
+                                                       @RequestParam(value = "before", required = false) Long before,
+                                                       @RequestParam(value = "size", defaultValue = "20") int size) {
+        return memberNotificationService.getPage(memberId(authentication), before, size);
+    }
+
+    @GetMapping("/api/notifications/unread")
+    public Map<String, Long> getUnreadCount(Authentication authentication) {
+        return Map.of("unread", memberNotificationService.unreadCount(memberId(authentication)));
+    }
+
+    @PostMapping("/api/notifications/{notificationId}/read")
+    public Map<String, Long> markRead(Authentication authentication, @PathVariable("notificationId") Long notificationId) {
+        Long memberId = memberId(authentication);
+        memberNotificationService.markRead(memberId, notificationId);
+        return Map.of("unread", memberNotificationService.unreadCount(memberId));
+    }
+
+    @PostMapping("/api/notifications/read-all")
+    public Map<String, Long> markAllRead(Authentication authentication) {
+        Long memberId = memberId(authentication);
+        memberNotificationService.markAllRead(memberId);
+        return Map.of("unread", memberNotificationService.unreadCount(memberId));
+    }
+
+    private Long memberId(Authentication authentication) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof CustomUserDetails userDetails)) {
+            throw new AccessDeniedException("로그인한 회원만 알림을 조회할 수 있습니다.");
+        }
+        return userDetails.getMemberId();
+    }
+}
@@ -0,0 +1,60 @@
+package com.learnway.notification.domain;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 회원 알림함 (읽음 여부까지 저장, 목록은 최신순 keyset 조회)
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "member_notification",
+       indexes = {
+           @Index(name = "idx_member_notification_member", columnList = "member_id, id"),
+           @Index(name = "idx_member_notification_unread", columnList = "member_id, is_read"),
+           // 보관기간 정리
+           @Index(name = "idx_member_notification_created", columnList = "created_at")
+       })
+public class MemberNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;              // 회원 PK
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private NotificationType type;
+
+    @Column(nullable = false, length = 500)
+    private String message;
+
+    @Column(length = 300)
+    private String link;                // 클릭시 이동할 주소
+
+    @Column(name = "is_read", nullable = false)
+    private boolean read;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public MemberNotification(Long memberId, NotificationType type, String message, String link) {
+        this.memberId = memberId;
+        this.type = type;
+        this.message = message;
+        this.link = link;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,49 @@
+package com.learnway.notification.domain;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MemberNotificationRepository extends JpaRepository<MemberNotification, Long> {
+
+	//알림함 최신순 페이지 (before 보다 작은 id 부터)
+	@Query("SELECT n FROM MemberNotification n WHERE n.memberId = :memberId AND n.id < :before ORDER BY n.id DESC")
+	List<MemberNotification> findPage(@Param("memberId") Long memberId, @Param("before") Long before, Pageable pageable);
+
+	//안읽은 알림 개수 (회원별 카운터가 메모리에 없을때만 사용)
+	long countByMemberIdAndReadFalse(Long memberId);
+
+	//알림 한건 읽음 처리 (이미 읽은 알림이면 0)
+	@Modifying
+	@Query("UPDATE MemberNotification n SET n.read = true WHERE n.id = :id AND n.memberId = :memberId AND n.read = false")
+	int markRead(@Param("memberId") Long memberId, @Param("id") Long id);
+
+	//전체 읽음 처리
+	@Modifying
+	@Query("UPDATE MemberNotification n SET n.read = true WHERE n.memberId = :memberId AND n.read = false")
+	int markAllRead(@Param("memberId") Long memberId);
+
+	//전체 회원 알림 (공지사항) : 회원 수만큼 insert 를 보내지 않고 한 문장으로 적재
+	@Modifying
+	@Query(value = "INSERT INTO member_notification (member_id, type, message, link, is_read, created_at) "
+			+ "SELECT m.id, :type, :message, :link, false, :createdAt FROM member m", nativeQuery = true)
+	int insertForAllMembers(@Param("type") String type, @Param("message") String message,
+			@Param("link") String link, @Param("createdAt") LocalDateTime createdAt);
+
+	//보관기간 지난 읽은 알림 정리
+	@Modifying
+	@Query("DELETE FROM MemberNotification n WHERE n.read = true AND n.createdAt < :expiredBefore")
+	int deleteExpired(@Param("expiredBefore") LocalDateTime expiredBefore);
+
+	//보관기간 지난 안읽은 알림 정리 (접속하지 않는 회원의 공지 알림이 계속 쌓이지 않도록, 읽은 알림보다 길게 보관)
+	@Modifying
+	@Query("DELETE FROM MemberNotification n WHERE n.read = false AND n.createdAt < :expiredBefore")
+	int deleteExpiredUnread(@Param("expiredBefore") LocalDateTime expiredBefore);
+}
@@ -0,0 +1,13 @@
+package com.learnway.notification.domain;
+
+// 회원 알림 종류 (SSE 이벤트 이름으로도 사용)
+public enum NotificationType {
+    RESERVATION,    // 상담 예약 확정 / 취소 / 시작 전 안내
+    NOTICE,         // 새 공지사항
+    CHAT,           // 채팅 멘션
+    SCHEDULE;       // 일정
+
+    public String eventName() {
+        return name().toLowerCase();
+    }
+}
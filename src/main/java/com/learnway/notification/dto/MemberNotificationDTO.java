@@ -0,0 +1,35 @@
+package com.learnway.notification.dto;
+
+import java.time.LocalDateTime;
+
+import com.learnway.notification.domain.MemberNotification;
+import com.learnway.notification.domain.NotificationType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 회원 알림 (알림함 조회 / SSE 발송 / 노드간 전달에 공통 사용)
+// 노드간 전달시 memberId 가 null 이면 전체 회원, type 이 null 이면 읽음 처리 동기화
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberNotificationDTO {
+    private Long id;
+    private Long memberId;
+    private NotificationType type;
+    private String message;
+    private String link;
+    private boolean read;
+    private LocalDateTime createdAt;
+
+    public static MemberNotificationDTO from(MemberNotification notification) {
+        return new MemberNotificationDTO(notification.getId(), notification.getMemberId(), notification.getType(),
+                notification.getMessage(), notification.getLink(), notification.isRead(), notification.getCreatedAt());
+    }
+
+    // 읽음 처리 동기화 메세지 (id 가 null 이면 전체 읽음, createdAt 은 읽음 처리를 시작한 시각)
+    public static MemberNotificationDTO readSignal(Long memberId, Long id, LocalDateTime changedAt) {
+        return new MemberNotificationDTO(id, memberId, null, null, null, true, changedAt);
+    }
+}
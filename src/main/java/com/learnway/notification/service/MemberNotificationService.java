@@ -0,0 +1,186 @@
+package com.learnway.notification.service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.learnway.consult.service.NotificationBus;
+import com.learnway.notification.domain.MemberNotification;
+import com.learnway.notification.domain.MemberNotificationRepository;
+import com.learnway.notification.domain.NotificationType;
+import com.learnway.notification.dto.MemberNotificationDTO;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 회원 알림 허브
+// - 알림은 알림함(member_notification)에 저장한 뒤 NotificationBus 로 발행, 회원 연결을 가진 노드가 SSE 로 발송
+// - 회원당 SSE 연결 하나에 예약/공지/채팅/일정 알림을 이벤트 이름으로 구분해서 보낸다
+// - 알림/읽음 처리마다 안읽은 개수(unread 이벤트)를 같이 보내므로 화면에서 주기적으로 조회할 필요가 없다
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MemberNotificationService {
+
+    private static final int MAX_PAGE = 100;
+
+    private final MemberNotificationRepository notificationRepository;
+    private final NotificationBus notificationBus;
+    private final MemberSseFanout sseFanout;
+    private final UnreadCounter unreadCounter;
+
+    @Value("${learnway.member-notification.ttl-days:30}")
+    private long ttlDays;
+
+    @Value("${learnway.member-notification.unread-ttl-days:180}")
+    private long unreadTtlDays;
+
+    @PostConstruct
+    public void init() {
+        notificationBus.subscribeMember(this::deliverLocal);
+    }
+
+    // 회원 한명에게 알림
+    @Transactional
+    public void notify(Long memberId, NotificationType type, String message, String link) {
+        if (memberId == null) {
+            return;
+        }
+        MemberNotification saved = notificationRepository.save(new MemberNotification(memberId, type, message, link));
+        MemberNotificationDTO notification = MemberNotificationDTO.from(saved);
+        afterCommit(() -> notificationBus.publishMember(notification));
+    }
+
+    // 전체 회원에게 알림 (공지사항)
+    @Transactional
+    public void notifyAllMembers(NotificationType type, String message, String link) {
+        LocalDateTime now = LocalDateTime.now();
+        int count = notificationRepository.insertForAllMembers(type.name(), message, link, now);
+        log.info("전체 회원 알림 적재 : {} {}건", type, count);
+        MemberNotificationDTO notification = new MemberNotificationDTO(null, null, type, message, link, false, now);
+        afterCommit(() -> notificationBus.publishMember(notification));
+    }
+
+    // SSE 구독 : 연결 직후 현재 안읽은 개수를 보낸다 (알림 목록은 알림함 API 로 조회)
+    public SseEmitter subscribe(Long memberId) {
+        SseEmitter emitter = sseFanout.connect(memberId);
+        sseFanout.send(memberId, unreadEvent(memberId).build());
+        return emitter;
+    }
+
+    // 알림함 최신순 페이지 (before : 이전 페이지 마지막 알림 id, 첫 페이지는 null)
+    public List<MemberNotificationDTO> getPage(Long memberId, Long before, int size) {
+        return notificationRepository.findPage(memberId, before == null ? Long.MAX_VALUE : before,
+                        PageRequest.of(0, Math.max(1, Math.min(size, MAX_PAGE)))).stream()
+                .map(MemberNotificationDTO::from)
+                .collect(Collectors.toList());
+    }
+
+    public long unreadCount(Long memberId) {
+        return unreadCounter.get(memberId);
+    }
+
+    // 알림 읽음 처리 (이미 읽었거나 다른 회원의 알림이면 변화 없음)
+    @Transactional
+    public void markRead(Long memberId, Long notificationId) {
+        LocalDateTime changedAt = LocalDateTime.now();
+        if (notificationRepository.markRead(memberId, notificationId) > 0) {
+            afterCommit(() -> notificationBus.publishMember(MemberNotificationDTO.readSignal(memberId, notificationId, changedAt)));
+        }
+    }
+
+    @Transactional
+    public void markAllRead(Long memberId) {
+        LocalDateTime changedAt = LocalDateTime.now();
+        if (notificationRepository.markAllRead(memberId) > 0) {
+            afterCommit(() -> notificationBus.publishMember(MemberNotificationDTO.readSignal(memberId, null, changedAt)));
+        }
+    }
+
+    // 버스로 들어온 알림 / 읽음 처리 : 카운터를 맞추고 이 서버에 연결된 탭으로 발송
+    // createdAt(적재/읽음 처리 시작 시각) 이후에 DB 에서 센 카운터는 다시 센다 (UnreadCounter)
+    private void deliverLocal(MemberNotificationDTO notification) {
+        Long memberId = notification.getMemberId();
+        LocalDateTime changedAt = notification.getCreatedAt();
+        if (notification.getType() == null) {
+            if (notification.getId() == null) {
+                unreadCounter.reset(memberId, changedAt);
+            } else {
+                unreadCounter.decrement(memberId, changedAt);
+            }
+            if (sseFanout.isConnected(memberId)) {
+                sseFanout.send(memberId, unreadEvent(memberId).build());
+            }
+            return;
+        }
+        if (memberId == null) {
+            unreadCounter.incrementAll(changedAt);
+            sseFanout.connectedIds().forEach(id -> sseFanout.send(id, notificationFrame(id, notification)));
+            return;
+        }
+        unreadCounter.increment(memberId, changedAt);
+        if (sseFanout.isConnected(memberId)) {
+            sseFanout.send(memberId, notificationFrame(memberId, notification));
+        }
+    }
+
+    // 알림 이벤트 + 안읽은 개수를 한번에 write
+    private Set<DataWithMediaType> notificationFrame(Long memberId, MemberNotificationDTO notification) {
+        Set<DataWithMediaType> frame = new LinkedHashSet<>();
+        SseEmitter.SseEventBuilder event = SseEmitter.event().name(notification.getType().eventName());
+        if (notification.getId() != null) {
+            event.id(String.valueOf(notification.getId()));
+        }
+        frame.addAll(event.data(notification).build());
+        frame.addAll(unreadEvent(memberId).build());
+        return frame;
+    }
+
+    private SseEmitter.SseEventBuilder unreadEvent(Long memberId) {
+        return SseEmitter.event().name("unread").data(Map.of("unread", unreadCounter.get(memberId)));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // 보관기간 지난 읽은/안읽은 알림 정리, 접속하지 않은 회원의 카운터 정리
+    @Scheduled(fixedDelayString = "${learnway.member-notification.compact-interval-ms:3600000}")
+    @Transactional
+    public void compact() {
+        LocalDateTime now = LocalDateTime.now();
+        int removed = notificationRepository.deleteExpired(now.minusDays(ttlDays));
+        int removedUnread = notificationRepository.deleteExpiredUnread(now.minusDays(unreadTtlDays));
+        if (removed > 0 || removedUnread > 0) {
+            log.info("지난 회원 알림 정리 : 읽은 알림 {}건, 안읽은 알림 {}건", removed, removedUnread);
+        }
+        if (removedUnread > 0) {
+            // 지운 안읽은 알림이 어느 회원 것인지 모르므로 카운터를 모두 버리고 다음 조회때 다시 셈
+            afterCommit(unreadCounter::clear);
+        }
+        unreadCounter.retain(sseFanout.connectedIds());
+    }
+}
@@ -0,0 +1,17 @@
+package com.learnway.notification.service;
+
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import com.learnway.global.service.SseFanout;
+
+// 회원 알림 SSE 연결 관리 (회원 PK 기준, 회원 한명당 연결 하나에 모든 종류의 알림을 보냄)
+@Component
+public class MemberSseFanout extends SseFanout {
+
+    public MemberSseFanout(@Qualifier("sseExecutor") Executor sseExecutor) {
+        super("회원", sseExecutor);
+    }
+}
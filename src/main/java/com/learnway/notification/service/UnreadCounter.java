@@ -0,0 +1,83 @@
+package com.learnway.notification.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongUnaryOperator;
+
+import org.springframework.stereotype.Component;
+
+import com.learnway.notification.domain.MemberNotificationRepository;
+
+import lombok.RequiredArgsConstructor;
+
+// 회원별 안읽은 알림 개수
+// 처음 조회될 때만 DB 에서 세고, 이후에는 알림 적재/읽음 처리때 증감만 하므로 뱃지 조회는 O(1)
+// 증감은 커밋 이후 버스로 전달되므로, 변경 시각(changedAt) 이후에 DB 에서 센 카운터는 이미 반영됐을 수 있다
+// -> 그런 카운터는 증감하지 않고 버려서 다음 조회때 다시 센다 (두번 세거나 빠뜨리지 않음)
+@Component
+@RequiredArgsConstructor
+public class UnreadCounter {
+
+    // 노드간 시계 차이 여유
+    private static final Duration CLOCK_SKEW = Duration.ofSeconds(1);
+
+    private final MemberNotificationRepository notificationRepository;
+
+    private final Map<Long, Counter> counts = new ConcurrentHashMap<>();
+
+    public long get(Long memberId) {
+        return counts.computeIfAbsent(memberId, id -> {
+            long count = notificationRepository.countByMemberIdAndReadFalse(id);
+            // 센 다음 시각 : 이보다 뒤에 시작된 변경은 이 개수에 들어있지 않다
+            return new Counter(count, LocalDateTime.now());
+        }).count;
+    }
+
+    // 아직 적재되지 않은 회원은 다음 조회때 DB 에서 세므로 그대로 둔다
+    public void increment(Long memberId, LocalDateTime changedAt) {
+        apply(memberId, changedAt, count -> count + 1);
+    }
+
+    public void incrementAll(LocalDateTime changedAt) {
+        counts.keySet().forEach(memberId -> apply(memberId, changedAt, count -> count + 1));
+    }
+
+    public void decrement(Long memberId, LocalDateTime changedAt) {
+        apply(memberId, changedAt, count -> Math.max(0, count - 1));
+    }
+
+    public void reset(Long memberId, LocalDateTime changedAt) {
+        apply(memberId, changedAt, count -> 0L);
+    }
+
+    // 접속중이 아닌 회원의 카운터는 버림 (다시 접속하면 DB 에서 새로 셈)
+    public void retain(Set<Long> memberIds) {
+        counts.keySet().retainAll(memberIds);
+    }
+
+    // 모든 카운터를 버림 (안읽은 알림을 한꺼번에 지운 뒤)
+    public void clear() {
+        counts.clear();
+    }
+
+    // changedAt 이전에 센 카운터만 증감, 그 이후(또는 시각을 모르면) 센 카운터는 버림
+    private void apply(Long memberId, LocalDateTime changedAt, LongUnaryOperator delta) {
+        counts.computeIfPresent(memberId, (id, counter) ->
+                changedAt != null && counter.loadedAt.isBefore(changedAt.minus(CLOCK_SKEW))
+                        ? new Counter(delta.applyAsLong(counter.count), counter.loadedAt)
+                        : null);
+    }
+
+    private static final class Counter {
+        private final long count;
+        private final LocalDateTime loadedAt;
+
+        private Counter(long count, LocalDateTime loadedAt) {
+            this.count = count;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -19,4 +19,9 @@ public interface DailyAchieveRepository extends JpaRepository<DailyAchieve, Long
 	
 	@Query(value = "SELECT * FROM daily_achieve WHERE date >= CONCAT(:year, '-', :month, '-01 06:00:00') AND date < DATE_ADD(CONCAT(:year, '-', :month, '-01 06:00:00'), INTERVAL 1 MONTH)", nativeQuery = true)
     List<DailyAchieve> findMonthlyAchievements(@Param("year") int year, @Param("month") int month);
+
+    // 회원 pk 로 기간내 일별 달성률 조회 (daily_achieve 는 로그인 아이디로 저장되어 있어 서브쿼리로 변환)
+    @Query("SELECT d FROM DailyAchieve d WHERE d.memberId = (SELECT m.memberId FROM Member m WHERE m.id = :memberPk) "
+            + "AND d.date BETWEEN :start AND :end ORDER BY d.date")
+    List<DailyAchieve> findByMemberPkAndDateBetween(@Param("memberPk") Long memberPk, @Param("start") LocalDate start, @Param("end") LocalDate end);
 }
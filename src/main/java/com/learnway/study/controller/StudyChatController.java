@@ -9,17 +9,19 @@ import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
-import com.learnway.study.domain.ChatMessage;
-import com.learnway.study.domain.ChatMessageRepository;
 import com.learnway.study.domain.StudyChatRepository;
+import com.learnway.study.dto.ChatMessageDto;
+import com.learnway.study.dto.ChatResyncDto;
 import com.learnway.study.dto.ChatRoomDto;
 import com.learnway.study.service.StudyChatService;
 
@@ -28,11 +30,11 @@ import com.learnway.study.service.StudyChatService;
 @Controller
 public class StudyChatController {
 
+	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
 	@Autowired
 	StudyChatRepository studyChatRepository;
 	@Autowired
-	ChatMessageRepository chatMessageRepository;
-	@Autowired
 	StudyChatService studyChatService;
 	@Autowired
 	private  SimpMessagingTemplate template;
@@ -47,8 +49,7 @@ public class StudyChatController {
 	@GetMapping(value="/learnway/chat")
 	public String chatList(Principal principal,Model model) {
 
-		model.addAttribute("list",studyChatService.chatList(principal));
-		model.addAttribute("myList",studyChatService.myChatList(principal));
+		model.addAttribute("rooms",studyChatService.chatRoomSummaries(principal));
 		return "study/chatList";
 	}
 	
@@ -90,16 +91,24 @@ public class StudyChatController {
 		model.addAttribute("userImages", userImages);
         model.addAttribute("currentUserName", principal.getName());
 		
-		model.addAttribute("chatMessageList",studyChatService.chatMessageList(dto));
+		//최근 메세지만 캐시에서 (이전 메세지는 스크롤시 /chatroom/{roomId}/messages?before= 로 조회)
+		model.addAttribute("chatMessageList",studyChatService.recentMessages(dto.getRoomId()));
+		//입장시 마지막 메세지까지 읽음 처리, 참여자별 읽은 위치 (메세지별 안읽은 인원 표시)
+		studyChatService.markRead(dto.getRoomId(), null, principal);
+		model.addAttribute("readPointers",studyChatService.readPointers(dto.getRoomId()));
 		
 		
 		return "study/mychat";
 	}
 	
+	//채팅 내역 (before : 이미 받은 가장 오래된 msgId, 아직 msgId 가 없는 메세지면 beforeSeq 로 순번, 첫 페이지는 생략)
 	@GetMapping("/chatroom/{roomId}/messages")
 	@ResponseBody
-	public List<ChatMessage> getChatMessages(@PathVariable("roomId") int roomId) {
-	    return chatMessageRepository.findByChatroom_Chatroomid(roomId);
+	public List<ChatMessageDto> getChatMessages(@PathVariable("roomId") int roomId,
+			@RequestParam(value = "before", required = false) Integer before,
+			@RequestParam(value = "beforeSeq", required = false) Long beforeSeq,
+			@RequestParam(value = "limit", defaultValue = "50") int limit) {
+	    return studyChatService.chatMessagePage(roomId, before, beforeSeq, limit);
 	}
 	
 	
@@ -130,9 +139,8 @@ public class StudyChatController {
 		if(result == true) {
 		dto.setName(studyChatService.MemberName(principal));
 		dto.setMessage(dto.getName() + "님이 채팅방에 입장하셨습니다.");
-		LocalDateTime datetime = LocalDateTime.parse(dto.getDate(),DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-		dto.setDatetime(datetime);
-		chatMessageRepository.save(studyChatService.storechat(dto,principal));
+		serverTime(dto);
+		studyChatService.storechat(dto,principal);
 		template.convertAndSend("/sub/chat/room/"+dto.getRoomId(),dto);
 		}
 		
@@ -140,19 +148,49 @@ public class StudyChatController {
 	
 	@MessageMapping(value="/chat/message")
 	public void message(ChatRoomDto dto,Principal principal) {
-		System.out.println(dto.getName() + "보낸사람");
-		
 		
-		LocalDateTime datetime = LocalDateTime.parse(dto.getDate(),DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-		dto.setDatetime(datetime);
-		
-		System.out.println(dto.getRoomId()+ "채팅방 아이디");
-		chatMessageRepository.save(studyChatService.storechat(dto,principal));
+		// 순서는 서버 순번, 시간도 클라이언트 시계 대신 서버 시간
+		serverTime(dto);
 		
-		System.out.println("채팅 저장됨");
+		// 순번 발급 후 저장은 write-behind 대기열로 (DB 를 기다리지 않음), 구독자에게 순번과 함께 전송
+		// 재연결후 다시 보낸 메세지(같은 clientMsgId)는 저장/전송하지 않고 보낸 사람에게 순번만 알림
+		if (!studyChatService.storechat(dto,principal)) {
+			dto.setType("ACK");
+			template.convertAndSendToUser(principal.getName(), "/queue/chat/ack", dto);
+			return;
+		}
 		template.convertAndSend("/sub/chat/room/"+dto.getRoomId(),dto);
+		
+		// 멘션이 있는 메세지만 알림 처리 (notificationExecutor 에서 비동기로)
+		if (dto.getMessage() != null && dto.getMessage().indexOf('@') >= 0) {
+			studyChatService.notifyMentions(dto, principal.getName());
+		}
 
 	}
 	
+	// 재연결시 놓친 메세지 (seq : 마지막으로 받은 순번), 요청한 세션에만 전달
+	@MessageMapping(value="/chat/resync")
+	@SendToUser(destinations = "/queue/chat/resync", broadcast = false)
+	public ChatResyncDto resync(ChatRoomDto dto) {
+		
+		return studyChatService.resync(dto.getRoomId(), dto.getSeq() == null ? 0 : dto.getSeq());
+	}
 	
+	private void serverTime(ChatRoomDto dto) {
+		LocalDateTime datetime = LocalDateTime.now().withNano(0);
+		dto.setDatetime(datetime);
+		dto.setDate(datetime.format(DATE_FORMAT));
+	}
+	
+	// 읽음 처리 (화면에 보이는 마지막 메세지 순번), 채팅방에 읽은 위치 전송
+	@MessageMapping(value="/chat/read")
+	public void read(ChatRoomDto dto,Principal principal) {
+		
+		ChatRoomDto receipt = new ChatRoomDto();
+		receipt.setType("READ");
+		receipt.setRoomId(dto.getRoomId());
+		receipt.setName(studyChatService.MemberName(principal));
+		receipt.setSeq(studyChatService.markRead(dto.getRoomId(), dto.getSeq(), principal));
+		template.convertAndSend("/sub/chat/room/"+dto.getRoomId(),receipt);
+	}
 }
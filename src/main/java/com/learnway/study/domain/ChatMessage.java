@@ -9,6 +9,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -24,7 +25,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name="ChatMessage")
+@Table(name="ChatMessage",
+       indexes = {
+           @Index(name = "idx_chat_message_room", columnList = "study_chatroomid, chat_msg_id"),
+           // 기동후 채팅방 순번을 이어서 발급할때 저장된 마지막 순번 조회용
+           @Index(name = "idx_chat_message_room_seq", columnList = "study_chatroomid, chat_seq")
+       })
 public class ChatMessage {
  
     @Id
@@ -48,6 +54,10 @@ public class ChatMessage {
     @Column(name="chat_date", nullable = false)
     private LocalDateTime datetime;
     
+    // 채팅방 안에서의 메세지 순번 (순번 도입 이전 메세지는 null)
+    @Column(name="chat_seq")
+    private Long seq;
+    
     @Column(name="unread_count", nullable = true)
     private Integer unread;
 }
\ No newline at end of file
@@ -2,10 +2,27 @@ package com.learnway.study.domain;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.learnway.study.dto.ChatMessageDto;
 
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
 
 	
 	List<ChatMessage> findByChatroom_Chatroomid(int roomId);
+	
+	//채팅 내역 최신순 페이지 ((study_chatroomid, chat_msg_id) 인덱스로 before 이전 메세지만 읽음)
+	@Query("SELECT new com.learnway.study.dto.ChatMessageDto(c.msgid, c.seq, m.memberName, c.msg, c.datetime) "
+			+ "FROM ChatMessage c JOIN c.member m "
+			+ "WHERE c.chatroom.chatroomid = :roomId AND c.msgid < :before ORDER BY c.msgid DESC")
+	List<ChatMessageDto> findPage(@Param("roomId") int roomId, @Param("before") int before, Pageable pageable);
+	
+	//아직 msgId 를 모르는 메세지(캐시에서 받은 메세지) 이전 페이지 : 순번 도입 이전 메세지(seq null)는 모두 더 오래된 메세지
+	@Query("SELECT new com.learnway.study.dto.ChatMessageDto(c.msgid, c.seq, m.memberName, c.msg, c.datetime) "
+			+ "FROM ChatMessage c JOIN c.member m "
+			+ "WHERE c.chatroom.chatroomid = :roomId AND (c.seq < :beforeSeq OR c.seq IS NULL) ORDER BY c.msgid DESC")
+	List<ChatMessageDto> findPageBySeq(@Param("roomId") int roomId, @Param("beforeSeq") long beforeSeq, Pageable pageable);
 }
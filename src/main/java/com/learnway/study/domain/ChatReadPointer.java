@@ -0,0 +1,34 @@
+package com.learnway.study.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 회원별 채팅방 마지막으로 읽은 메세지 순번
+// 안읽은 메세지 수 = 채팅방 last_seq - last_read_seq (메세지를 세지 않음)
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "chat_read_pointer",
+       uniqueConstraints = @UniqueConstraint(name = "uk_chat_read_pointer", columnNames = {"member_id", "study_chatroomid"}))
+public class ChatReadPointer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;              // 회원 PK
+
+    @Column(name = "study_chatroomid", nullable = false)
+    private Integer roomId;
+
+    @Column(name = "last_read_seq", nullable = false)
+    private long lastReadSeq;
+}
@@ -0,0 +1,24 @@
+package com.learnway.study.domain;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ChatReadPointerRepository extends JpaRepository<ChatReadPointer, Long> {
+
+	//읽은 위치 갱신 (처음이면 추가, 늦게 도착한 이전 위치로는 되돌리지 않음)
+	@Modifying
+	@Query(value = "INSERT INTO chat_read_pointer (member_id, study_chatroomid, last_read_seq) VALUES (:memberId, :roomId, :seq) "
+			+ "ON DUPLICATE KEY UPDATE last_read_seq = GREATEST(last_read_seq, VALUES(last_read_seq))", nativeQuery = true)
+	int advance(@Param("memberId") Long memberId, @Param("roomId") int roomId, @Param("seq") long seq);
+
+	//채팅방 참여자별 읽은 위치 (읽음 표시용)
+	@Query(value = "SELECT m.member_name AS name, p.last_read_seq AS lastReadSeq FROM chat_read_pointer p "
+			+ "JOIN member m ON m.id = p.member_id WHERE p.study_chatroomid = :roomId", nativeQuery = true)
+	List<ChatReadView> findByRoom(@Param("roomId") int roomId);
+}
@@ -0,0 +1,9 @@
+package com.learnway.study.domain;
+
+// 채팅방 참여자 이름별 마지막으로 읽은 메세지 순번
+public interface ChatReadView {
+
+	String getName();
+
+	Long getLastReadSeq();
+}
@@ -52,4 +52,8 @@ public class ChatRoom {
     
     @Column(name="study_roomname", nullable = false)
     private String roomname;
+    
+    // 마지막 메세지 순번 (write-behind 가 쿼리로만 갱신, 채팅방 수정 save 로 덮어쓰지 않도록 insert/update 제외)
+    @Column(name="last_seq", insertable = false, updatable = false, columnDefinition = "bigint not null default 0")
+    private long lastSeq;
 }
\ No newline at end of file
@@ -2,8 +2,10 @@ package com.learnway.study.domain;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ChatRoomRepository extends JpaRepository<ChatRoom, Integer> {
 
@@ -14,4 +16,28 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, Integer> {
     List<Integer> findStudyPostIdsWithoutChatRooms();
 
     List<ChatRoom> findByMember_MemberId(String memberId);
+
+    //채팅 목록 : 방장/참여중인 채팅방을 마지막 메세지, 인원, 안읽은 메세지 수와 함께 한번에 (최근 대화순)
+    //마지막 메세지는 (study_chatroomid, chat_msg_id) 인덱스로 채팅방마다 한 행만 읽음 (보관된 채팅방이면 보관 테이블에서)
+    @Query(value = "SELECT r.study_chatroomid AS roomId, r.study_roomname AS roomName, h.member_name AS hostName, "
+            + "CASE WHEN r.id = :memberId THEN 1 ELSE 0 END AS hosted, "
+            + "COALESCE(lm.chat_msg, la.chat_msg) AS lastMessage, COALESCE(lm.chat_date, la.chat_date) AS lastMessageAt, "
+            + "(SELECT COUNT(DISTINCT cm.id) FROM chatroommember cm "
+            + "  WHERE cm.study_chatroomid = r.study_chatroomid AND cm.id <> r.id) + 1 AS memberCount, "
+            + "r.last_seq - COALESCE(p.last_read_seq, 0) AS unread "
+            + "FROM study_chatroom r "
+            + "JOIN member h ON h.id = r.id "
+            + "LEFT JOIN chat_message lm ON lm.chat_msg_id = "
+            + "  (SELECT MAX(c.chat_msg_id) FROM chat_message c WHERE c.study_chatroomid = r.study_chatroomid) "
+            + "LEFT JOIN chat_message_archive la ON lm.chat_msg_id IS NULL AND la.chat_msg_id = "
+            + "  (SELECT MAX(a.chat_msg_id) FROM chat_message_archive a WHERE a.study_chatroomid = r.study_chatroomid) "
+            + "LEFT JOIN chat_read_pointer p ON p.study_chatroomid = r.study_chatroomid AND p.member_id = :memberId "
+            + "WHERE r.id = :memberId OR EXISTS "
+            + "  (SELECT 1 FROM chatroommember me WHERE me.study_chatroomid = r.study_chatroomid AND me.id = :memberId) "
+            + "ORDER BY COALESCE(lm.chat_msg_id, la.chat_msg_id) DESC, r.study_chatroomid DESC", nativeQuery = true)
+    List<ChatRoomSummaryView> findSummaries(@Param("memberId") Long memberId);
+
+    //채팅방 마지막 메세지 순번
+    @Query("SELECT cr.lastSeq FROM ChatRoom cr WHERE cr.chatroomid = :roomId")
+    Optional<Long> findLastSeq(@Param("roomId") int roomId);
 }
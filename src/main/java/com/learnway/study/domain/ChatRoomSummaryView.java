@@ -0,0 +1,23 @@
+package com.learnway.study.domain;
+
+import java.time.LocalDateTime;
+
+// 채팅 목록 한 줄 (채팅방 / 방장 / 마지막 메세지 / 인원 / 안읽은 메세지 수)
+public interface ChatRoomSummaryView {
+
+	Integer getRoomId();
+
+	String getRoomName();
+
+	String getHostName();
+
+	Integer getHosted();				// 로그인 회원이 방장이면 1
+
+	String getLastMessage();
+
+	LocalDateTime getLastMessageAt();
+
+	Long getMemberCount();				// 방장 포함
+
+	Long getUnread();
+}
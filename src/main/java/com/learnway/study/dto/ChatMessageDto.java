@@ -0,0 +1,19 @@
+package com.learnway.study.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 채팅 내역 조회 결과 (회원 엔티티 전체 대신 이름만)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessageDto {
+	private Integer msgId;
+	private Long seq;				// 채팅방 메세지 순번 (읽음 표시용)
+	private String name;
+	private String message;
+	private LocalDateTime datetime;
+}
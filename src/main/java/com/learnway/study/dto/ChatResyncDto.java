@@ -0,0 +1,17 @@
+package com.learnway.study.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 재연결후 놓친 메세지 (클라이언트가 마지막으로 받은 순번 이후 메세지를 시간순으로)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatResyncDto {
+	private Integer roomId;
+	private List<ChatMessageDto> messages;
+	private boolean reset;			// 놓친 메세지가 너무 많으면 true (채팅방을 다시 불러옴)
+}
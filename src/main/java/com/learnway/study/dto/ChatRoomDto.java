@@ -17,4 +17,6 @@ public class ChatRoomDto {
 	private String type;
 	private String date;
 	private LocalDateTime datetime;
+	private Long seq;				// 채팅방 메세지 순번 (서버에서 발급, 읽음 처리시 읽은 위치, 재연결시 마지막으로 받은 순번)
+	private String clientMsgId;		// 클라이언트가 만든 메세지 id (재전송 중복 제거)
 }
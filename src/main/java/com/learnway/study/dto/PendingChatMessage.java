@@ -0,0 +1,20 @@
+package com.learnway.study.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// DB 기록 대기중인 채팅 한건 (write-behind 대기열 / 종료시 파일 보관용)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingChatMessage {
+	private int roomId;				// study_chatroomid
+	private long seq;				// 채팅방 메세지 순번
+	private long memberId;			// 보낸 회원 PK
+	private String name;			// 보낸 회원 이름 (파일 로그 저장소는 회원 테이블을 join 하지 않음)
+	private String message;
+	private LocalDateTime datetime;
+}
@@ -0,0 +1,229 @@
+package com.learnway.study.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.learnway.study.dto.ChatMessageDto;
+
+import lombok.extern.slf4j.Slf4j;
+
+// 채팅 메세지 보관 테이블 (chat_message_archive)
+// - 마지막 메세지가 inactive-days 보다 오래된 채팅방의 메세지를 chat_message 에서 옮겨서 chat_message 를 작게 유지
+// - 보관 테이블은 FK 없이 월별 RANGE 파티션 + 압축(ROW_FORMAT=COMPRESSED)
+//   (chat_message 는 JPA 가 FK 를 관리해서 파티션을 나눌 수 없음)
+// - 보관기간(retention-months)이 지난 달은 DELETE 대신 파티션 DROP 으로 정리
+// - 채팅 내역 조회는 chat_message 에서 모자란 만큼 이어서 여기서 읽는다 (옮긴 메세지는 항상 남은 메세지보다 id 가 작음)
+@Slf4j
+@Component
+public class ChatMessageArchive {
+
+	private static final String TABLE = "chat_message_archive";
+	private static final String LOCK_NAME = "learnway_chat_archive";
+	private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+	private static final String CREATE_SQL = "CREATE TABLE IF NOT EXISTS " + TABLE + " ("
+			+ "chat_msg_id INT NOT NULL, study_chatroomid INT NOT NULL, chat_seq BIGINT NULL, id BIGINT NOT NULL, "
+			+ "chat_msg VARCHAR(255) NOT NULL, chat_date DATETIME(6) NOT NULL, "
+			+ "PRIMARY KEY (chat_msg_id, chat_date), KEY idx_chat_message_archive_room (study_chatroomid, chat_msg_id))";
+
+	private static final String SELECT_COLUMNS = "SELECT a.chat_msg_id, a.chat_seq, m.member_name, a.chat_msg, a.chat_date "
+			+ "FROM " + TABLE + " a LEFT JOIN member m ON m.id = a.id ";
+
+	private static final RowMapper<ChatMessageDto> ROW_MAPPER = (rs, rowNum) -> new ChatMessageDto(
+			rs.getInt(1), rs.getObject(2) == null ? null : rs.getLong(2), rs.getString(3), rs.getString(4),
+			rs.getTimestamp(5).toLocalDateTime());
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${learnway.chat.archive.enabled:true}")
+	private boolean enabled;
+
+	// 마지막 메세지가 이 기간보다 오래된 채팅방을 보관 테이블로
+	@Value("${learnway.chat.archive.inactive-days:90}")
+	private long inactiveDays;
+
+	// 보관 테이블에 남겨둘 개월 수 (0 이면 무제한)
+	@Value("${learnway.chat.archive.retention-months:0}")
+	private int retentionMonths;
+
+	@Value("${learnway.chat.archive.chunk-size:5000}")
+	private int chunkSize;
+
+	@Value("${learnway.chat.archive.rooms-per-run:100}")
+	private int roomsPerRun;
+
+	private volatile boolean partitioned;
+
+	public ChatMessageArchive(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	// 보관 테이블 생성 (압축/파티션을 지원하지 않는 DB 면 단계적으로 빼고 생성)
+	@EventListener(ApplicationReadyEvent.class)
+	public void createTable() {
+		YearMonth month = YearMonth.now();
+		String partitions = " PARTITION BY RANGE COLUMNS(chat_date) (" + partitionClause(month.minusMonths(1)) + ", "
+				+ partitionClause(month) + ", " + partitionClause(month.plusMonths(1)) + ")";
+		for (String options : List.of(" ROW_FORMAT=COMPRESSED" + partitions, partitions, "")) {
+			try {
+				jdbcTemplate.execute(CREATE_SQL + options);
+				break;
+			} catch (DataAccessException e) {
+				log.warn("채팅 보관 테이블 생성 실패, 옵션 줄여서 재시도 : {}", e.getMessage());
+			}
+		}
+		try {
+			Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.partitions "
+					+ "WHERE table_schema = DATABASE() AND table_name = ? AND partition_name IS NOT NULL", Integer.class, TABLE);
+			partitioned = count != null && count > 0;
+			maintainPartitions();
+		} catch (DataAccessException e) {
+			log.warn("채팅 보관 테이블 파티션 확인 실패 : {}", e.getMessage());
+		}
+	}
+
+	// 오래된 채팅방 보관 + 파티션 정리 (서버가 여러대여도 DB named lock 으로 한 서버만 실행)
+	@Scheduled(cron = "${learnway.chat.archive.cron:0 30 4 * * *}")
+	public void archiveColdRooms() {
+		if (!enabled) {
+			return;
+		}
+		jdbcTemplate.execute((java.sql.Connection connection) -> {
+			try (var lock = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+				lock.setString(1, LOCK_NAME);
+				try (var rs = lock.executeQuery()) {
+					if (!rs.next() || rs.getInt(1) != 1) {
+						return null;
+					}
+				}
+			}
+			try {
+				maintainPartitions();
+				archive();
+			} finally {
+				try (var release = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+					release.setString(1, LOCK_NAME);
+					release.executeQuery().close();
+				}
+			}
+			return null;
+		});
+	}
+
+	private void archive() {
+		LocalDateTime cutoff = LocalDateTime.now().minusDays(inactiveDays);
+		// 마지막 파티션 범위를 넘는 날짜(클라이언트 시계 오류 등)는 옮기지 않음
+		Timestamp upper = Timestamp.valueOf(YearMonth.now().plusMonths(1).atDay(1).atStartOfDay());
+		// (study_chatroomid, chat_msg_id) 인덱스로 채팅방별 마지막 메세지를 찾고 그 시간으로 판단
+		List<int[]> rooms = jdbcTemplate.query("SELECT t.room, t.last_id FROM "
+				+ "(SELECT study_chatroomid AS room, MAX(chat_msg_id) AS last_id FROM chat_message GROUP BY study_chatroomid) t "
+				+ "JOIN chat_message c ON c.chat_msg_id = t.last_id WHERE c.chat_date < ? LIMIT ?",
+				(rs, rowNum) -> new int[] { rs.getInt(1), rs.getInt(2) }, Timestamp.valueOf(cutoff), roomsPerRun);
+		long moved = 0;
+		for (int[] room : rooms) {
+			moved += archiveRoom(room[0], room[1], upper);
+		}
+		if (moved > 0) {
+			log.info("채팅 메세지 보관 : 채팅방 {}개, 메세지 {}건", rooms.size(), moved);
+		}
+	}
+
+	// 채팅방의 lastId 까지 메세지를 chunk 단위 트랜잭션으로 옮김 (그 사이 새로 온 메세지는 그대로)
+	private long archiveRoom(int roomId, int lastId, Timestamp upper) {
+		long moved = 0;
+		int from = 0;
+		while (true) {
+			Integer to = jdbcTemplate.queryForObject("SELECT MAX(chat_msg_id) FROM (SELECT chat_msg_id FROM chat_message "
+					+ "WHERE study_chatroomid = ? AND chat_msg_id > ? AND chat_msg_id <= ? ORDER BY chat_msg_id LIMIT ?) t",
+					Integer.class, roomId, from, lastId, chunkSize);
+			if (to == null) {
+				return moved;
+			}
+			int start = from;
+			Integer count = transactionTemplate.execute(status -> {
+				jdbcTemplate.update("INSERT IGNORE INTO " + TABLE + " (chat_msg_id, study_chatroomid, chat_seq, id, chat_msg, chat_date) "
+						+ "SELECT chat_msg_id, study_chatroomid, chat_seq, id, chat_msg, chat_date FROM chat_message "
+						+ "WHERE study_chatroomid = ? AND chat_msg_id > ? AND chat_msg_id <= ? AND chat_date < ?",
+						roomId, start, to, upper);
+				return jdbcTemplate.update("DELETE FROM chat_message "
+						+ "WHERE study_chatroomid = ? AND chat_msg_id > ? AND chat_msg_id <= ? AND chat_date < ?",
+						roomId, start, to, upper);
+			});
+			moved += count == null ? 0 : count;
+			from = to;
+		}
+	}
+
+	// 다음달 파티션 미리 추가, 보관기간 지난 달 파티션 DROP
+	private void maintainPartitions() {
+		if (!partitioned) {
+			return;
+		}
+		List<String> names = jdbcTemplate.queryForList("SELECT partition_name FROM information_schema.partitions "
+				+ "WHERE table_schema = DATABASE() AND table_name = ? ORDER BY partition_ordinal_position", String.class, TABLE);
+		YearMonth last = YearMonth.parse(names.get(names.size() - 1).substring(1), DateTimeFormatter.ofPattern("yyyyMM"));
+		for (YearMonth month = last.plusMonths(1); !month.isAfter(YearMonth.now().plusMonths(1)); month = month.plusMonths(1)) {
+			jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD PARTITION (" + partitionClause(month) + ")");
+		}
+		if (retentionMonths <= 0) {
+			return;
+		}
+		// 첫 파티션은 그보다 오래된 메세지도 받으므로 마지막 하나는 남김
+		String oldest = YearMonth.now().minusMonths(retentionMonths).format(PARTITION_NAME);
+		List<String> expired = new ArrayList<>();
+		for (String name : names.subList(0, names.size() - 1)) {
+			if (name.compareTo(oldest) < 0) {
+				expired.add(name);
+			}
+		}
+		if (!expired.isEmpty()) {
+			jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + String.join(", ", expired));
+			log.info("채팅 보관 파티션 정리 : {}", expired);
+		}
+	}
+
+	// 보관된 메세지 페이지 (시간순) : before(msgId) 또는 beforeSeq 이전 최대 limit 개
+	public List<ChatMessageDto> findPage(int roomId, Integer before, Long beforeSeq, int limit) {
+		List<ChatMessageDto> messages = new ArrayList<>();
+		if (before == null && beforeSeq != null) {
+			messages.addAll(jdbcTemplate.query(SELECT_COLUMNS + "WHERE a.study_chatroomid = ? AND (a.chat_seq < ? OR a.chat_seq IS NULL) "
+					+ "ORDER BY a.chat_msg_id DESC LIMIT ?", ROW_MAPPER, roomId, beforeSeq, limit));
+		} else {
+			messages.addAll(jdbcTemplate.query(SELECT_COLUMNS + "WHERE a.study_chatroomid = ? AND a.chat_msg_id < ? "
+					+ "ORDER BY a.chat_msg_id DESC LIMIT ?", ROW_MAPPER, roomId, before == null ? Integer.MAX_VALUE : before, limit));
+		}
+		Collections.reverse(messages);
+		return messages;
+	}
+
+	// 게시글 삭제시 채팅방 보관 메세지 삭제 (study_chatroomid 인덱스로 파티션마다 해당 채팅방만)
+	public void deleteByPost(int postId) {
+		jdbcTemplate.update("DELETE a FROM " + TABLE + " a JOIN study_chatroom r ON r.study_chatroomid = a.study_chatroomid "
+				+ "WHERE r.study_postid = ?", postId);
+	}
+
+	// 해당 월(month) 메세지를 담는 파티션 (다음달 1일 미만)
+	private static String partitionClause(YearMonth month) {
+		LocalDate next = month.plusMonths(1).atDay(1);
+		return "PARTITION " + month.format(PARTITION_NAME) + " VALUES LESS THAN ('" + next + "')";
+	}
+}
@@ -0,0 +1,45 @@
+package com.learnway.study.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+// 클라이언트 메세지 id 중복 제거
+// 재연결후 클라이언트가 응답(자기 메세지)을 받지 못한 메세지를 같은 id 로 다시 보내면 저장/전송하지 않는다
+// 최근 size 개 id 만 기억 (LRU), 순번과 마찬가지로 채팅방 메세지를 처리하는 서버 안에서만 유효
+@Component
+public class ChatMessageDedup {
+
+	@Value("${learnway.chat.dedup.size:10000}")
+	private int size;
+
+	private Map<String, Long> seen;
+
+	@PostConstruct
+	void init() {
+		seen = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+				return size() > size;
+			}
+		};
+	}
+
+	// 처음 보는 id 면 nextSeq 로 순번을 발급해서 기억하고 null, 이미 받은 id 면 그때 발급한 순번
+	public Long claim(int roomId, long memberId, String clientMsgId, LongSupplier nextSeq) {
+		String key = roomId + ":" + memberId + ":" + clientMsgId;
+		synchronized (seen) {
+			Long previous = seen.get(key);
+			if (previous != null) {
+				return previous;
+			}
+			seen.put(key, nextSeq.getAsLong());
+			return null;
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package com.learnway.study.service;
+
+import java.util.List;
+
+import com.learnway.study.dto.ChatMessageDto;
+import com.learnway.study.dto.PendingChatMessage;
+
+// 채팅 메세지 저장소 (learnway.chat.store.type : jpa = chat_message 테이블(기본), mmap = 파일 로그)
+public interface ChatMessageStore {
+
+	// 메세지 묶음 기록 (write-behind 기록 스레드에서 호출, 실패시 DataAccessException / UncheckedIOException)
+	void appendAll(List<PendingChatMessage> messages);
+
+	// before(msgId) 또는 beforeSeq(순번) 이전 최대 limit 개를 시간순으로 (둘 다 null 이면 최근 메세지)
+	List<ChatMessageDto> findPage(int roomId, Integer before, Long beforeSeq, int limit);
+
+	// 저장된 메세지 중 가장 큰 순번 (없으면 0)
+	long lastSeq(int roomId);
+}
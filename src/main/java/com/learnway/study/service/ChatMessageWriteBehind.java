@@ -0,0 +1,342 @@
+package com.learnway.study.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learnway.study.dto.PendingChatMessage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 채팅 메세지 write-behind 저장
+// - 메세지는 구독자에게 먼저 보내고 여기 대기열에만 넣는다 (STOMP 스레드에서 DB 를 기다리지 않음)
+// - 전용 스레드가 batchSize 개가 모이거나 flushIntervalMs 가 지나면 ChatMessageStore 에 한번에 기록
+// - 저장소 장애로 기록하지 못한 메세지와 종료시 남은 메세지는 파일(spill)에 남겨두고 다음 기동때 다시 기록
+//   (웹서버/STOMP broker 가 요청을 받기 전에 복구해서 보관된 메세지의 순번을 다시 발급하지 않도록 SmartLifecycle 로 먼저 실행)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatMessageWriteBehind implements SmartLifecycle {
+
+	private static final String ROOM_SEQ_SQL =
+			"UPDATE study_chatroom SET last_seq = GREATEST(last_seq, ?) WHERE study_chatroomid = ?";
+
+	// 웹서버 시작(DEFAULT_PHASE - 2048)과 STOMP broker(DEFAULT_PHASE) 보다 먼저
+	private static final int REPLAY_PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+	private final ChatMessageStore chatMessageStore;
+	private final ChatRoomSequence chatRoomSequence;
+	private final JdbcTemplate jdbcTemplate;
+	private final ObjectMapper objectMapper;
+
+	// study_chatroom.last_seq 에 반영하지 못한 채팅방 순번 (다음 묶음때 같이 반영)
+	private final Map<Integer, Long> pendingRoomSeqs = new HashMap<>();
+
+	@Value("${learnway.chat.write-behind.capacity:10000}")
+	private int capacity;
+
+	@Value("${learnway.chat.write-behind.batch-size:200}")
+	private int batchSize;
+
+	@Value("${learnway.chat.write-behind.flush-interval-ms:200}")
+	private long flushIntervalMs;
+
+	// 대기열이 가득 찼을때 보내는 쪽이 기다리는 최대 시간 (넘으면 파일로 보관)
+	@Value("${learnway.chat.write-behind.append-timeout-ms:1000}")
+	private long appendTimeoutMs;
+
+	@Value("${learnway.chat.write-behind.max-retries:3}")
+	private int maxRetries;
+
+	@Value("${learnway.chat.write-behind.spill-file:data/chat-spill.jsonl}")
+	private String spillFile;
+
+	private BlockingQueue<PendingChatMessage> queue;
+	private Thread flusher;
+	private volatile boolean running = true;
+	private volatile boolean started;
+
+	@PostConstruct
+	void init() {
+		queue = new ArrayBlockingQueue<>(capacity);
+		flusher = new Thread(this::run, "chat-write-behind");
+		flusher.setDaemon(true);
+		flusher.start();
+	}
+
+	// 대기열에 들어간 메세지가 DB 에 기록되기까지 걸리는 대략적인 시간
+	public long flushIntervalMs() {
+		return flushIntervalMs;
+	}
+
+	// 대기열에 추가 (가득 차면 DB 가 따라올때까지 잠시 기다림)
+	public void append(PendingChatMessage message) {
+		if (queue.offer(message)) {
+			return;
+		}
+		try {
+			if (queue.offer(message, appendTimeoutMs, TimeUnit.MILLISECONDS)) {
+				return;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		log.warn("채팅 저장 대기열 포화 : 파일로 보관");
+		spill(List.of(message));
+	}
+
+	private void run() {
+		List<PendingChatMessage> batch = new ArrayList<>(batchSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				PendingChatMessage first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				// 첫 메세지 이후 flushIntervalMs 동안 더 모으고, batchSize 가 차면 바로 기록
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+				while (running && batch.size() < batchSize) {
+					queue.drainTo(batch, batchSize - batch.size());
+					long remaining = deadline - System.nanoTime();
+					if (batch.size() >= batchSize || remaining <= 0) {
+						break;
+					}
+					PendingChatMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+				queue.drainTo(batch, batchSize - batch.size());
+				write(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				spill(batch);
+				return;
+			} catch (RuntimeException e) {
+				log.error("채팅 저장 실패 : {}건 파일로 보관, {}", batch.size(), e.toString());
+				spill(batch);
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	// 저장소에 기록, 장애면 재시도 후 파일로 보관
+	private void write(List<PendingChatMessage> batch) throws InterruptedException {
+		for (int attempt = 1; ; attempt++) {
+			try {
+				chatMessageStore.appendAll(batch);
+				updateRoomSeq(batch);
+				return;
+			} catch (DataAccessException | UncheckedIOException e) {
+				if (attempt > maxRetries) {
+					log.error("채팅 저장 재시도 실패 : {}건 파일로 보관, {}", batch.size(), e.getMessage());
+					spill(batch);
+					return;
+				}
+				log.warn("채팅 저장 실패, 재시도 {}/{} : {}", attempt, maxRetries, e.getMessage());
+				Thread.sleep(flushIntervalMs * attempt);
+			}
+		}
+	}
+
+	// 채팅방 마지막 순번 반영 (묶음 안에서 채팅방마다 한번, 실패하면 남겨뒀다가 다음 묶음때 같이 반영)
+	private void updateRoomSeq(List<PendingChatMessage> batch) {
+		synchronized (pendingRoomSeqs) {
+			for (PendingChatMessage message : batch) {
+				pendingRoomSeqs.merge(message.getRoomId(), message.getSeq(), Math::max);
+			}
+			List<Object[]> args = new ArrayList<>(pendingRoomSeqs.size());
+			pendingRoomSeqs.forEach((roomId, seq) -> args.add(new Object[] { seq, roomId }));
+			try {
+				jdbcTemplate.batchUpdate(ROOM_SEQ_SQL, args);
+				pendingRoomSeqs.clear();
+			} catch (DataAccessException e) {
+				log.warn("채팅방 메세지 순번 반영 실패, 다음 묶음때 다시 반영 ({}개 채팅방) : {}", pendingRoomSeqs.size(), e.getMessage());
+			}
+		}
+	}
+
+
+	// 기록하지 못한 메세지를 파일 끝에 추가 (한줄에 한건, JSON)
+	private synchronized void spill(List<PendingChatMessage> messages) {
+		if (messages.isEmpty()) {
+			return;
+		}
+		Path path = Paths.get(spillFile);
+		try {
+			if (path.getParent() != null) {
+				Files.createDirectories(path.getParent());
+			}
+			boolean torn = endsWithTornLine(path);
+			try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+					StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+				if (torn) {
+					// 이전 기록이 줄 중간에서 끊긴 경우 다음 메세지가 그 줄에 붙지 않도록
+					writer.newLine();
+				}
+				for (PendingChatMessage message : messages) {
+					writer.write(objectMapper.writeValueAsString(message));
+					writer.newLine();
+				}
+			}
+		} catch (IOException e) {
+			log.error("채팅 보관 파일 기록 실패 : {}건 유실, {}", messages.size(), e.getMessage());
+		}
+	}
+
+	// 기동시 이전에 보관해둔 메세지를 다시 기록 (읽은 메세지의 순번은 기록 성공 여부와 관계없이 ChatRoomSequence 에 알림)
+	// 다시 기록하는 동안 새로 보관되는 메세지와 섞이지 않도록 .replaying 파일로 옮겨서 처리하고
+	// 모든 줄을 기록(또는 다시 보관)한 뒤에만 삭제 (도중에 종료되면 다음 기동때 남은 .replaying 부터 다시 처리)
+	void replaySpill() {
+		Path replaying = Paths.get(spillFile + ".replaying");
+		try {
+			if (!takeSpill(replaying)) {
+				return;
+			}
+			List<PendingChatMessage> batch = new ArrayList<>(batchSize);
+			int count = 0;
+			int skipped = 0;
+			int lineNumber = 0;
+			// 글자 중간에서 끊긴 줄도 예외 없이 읽도록 (잘못된 바이트는 대체 문자로 바뀌고 그 줄만 버려짐)
+			try (BufferedReader reader = new BufferedReader(
+					new InputStreamReader(Files.newInputStream(replaying), StandardCharsets.UTF_8))) {
+				for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+					lineNumber++;
+					if (line.isBlank()) {
+						continue;
+					}
+					try {
+						PendingChatMessage message = objectMapper.readValue(line, PendingChatMessage.class);
+						chatRoomSequence.observe(message.getRoomId(), message.getSeq());
+						batch.add(message);
+					} catch (JsonProcessingException e) {
+						// 쓰다가 끊긴 줄 등 읽을 수 없는 줄만 버리고 계속
+						skipped++;
+						log.warn("채팅 보관 파일 {}번째 줄을 읽을 수 없어 버림 : {}", lineNumber, e.getOriginalMessage());
+						continue;
+					}
+					if (batch.size() == batchSize) {
+						write(batch);
+						count += batch.size();
+						batch = new ArrayList<>(batchSize);
+					}
+				}
+			}
+			write(batch);
+			count += batch.size();
+			Files.delete(replaying);
+			log.info("보관된 채팅 메세지 복구 : {}건 (읽을 수 없는 줄 {}건)", count, skipped);
+		} catch (IOException e) {
+			// 파일은 남겨두고 다음 기동때 다시 처리 (이미 기록한 메세지는 같은 순번으로 다시 기록됨)
+			log.error("채팅 보관 파일 복구 실패 : {}", e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	// 보관 파일을 .replaying 으로 옮김 (이전 복구에서 남은 .replaying 이 있으면 덮어쓰지 않고 뒤에 이어붙임)
+	// 반환 : 다시 기록할 파일이 있으면 true
+	private synchronized boolean takeSpill(Path replaying) throws IOException {
+		Path path = Paths.get(spillFile);
+		if (!Files.exists(path)) {
+			return Files.exists(replaying);
+		}
+		if (!Files.exists(replaying)) {
+			Files.move(path, replaying);
+			return true;
+		}
+		boolean torn = endsWithTornLine(replaying);
+		try (OutputStream out = Files.newOutputStream(replaying, StandardOpenOption.APPEND)) {
+			if (torn) {
+				out.write('\n');
+			}
+			Files.copy(path, out);
+		}
+		Files.delete(path);
+		return true;
+	}
+
+	// 파일 마지막 줄이 줄바꿈 없이 끝났는지 (기록 도중 종료)
+	private static boolean endsWithTornLine(Path path) throws IOException {
+		if (!Files.exists(path)) {
+			return false;
+		}
+		try (SeekableByteChannel channel = Files.newByteChannel(path, StandardOpenOption.READ)) {
+			if (channel.size() == 0) {
+				return false;
+			}
+			ByteBuffer last = ByteBuffer.allocate(1);
+			channel.position(channel.size() - 1).read(last);
+			return last.get(0) != '\n';
+		}
+	}
+
+	@Override
+	public void start() {
+		replaySpill();
+		started = true;
+	}
+
+	@Override
+	public void stop() {
+		started = false;
+	}
+
+	@Override
+	public boolean isRunning() {
+		return started;
+	}
+
+	@Override
+	public int getPhase() {
+		return REPLAY_PHASE;
+	}
+
+	// 종료시 남은 메세지 기록 (기록 스레드가 끝나지 않으면 파일로 보관)
+	@PreDestroy
+	void shutdown() throws InterruptedException {
+		running = false;
+		flusher.join(TimeUnit.SECONDS.toMillis(10));
+		List<PendingChatMessage> rest = new ArrayList<>();
+		queue.drainTo(rest);
+		if (rest.isEmpty()) {
+			return;
+		}
+		if (flusher.isAlive()) {
+			spill(rest);
+		} else {
+			write(rest);
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package com.learnway.study.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.learnway.study.domain.ChatRoomRepository;
+
+import lombok.RequiredArgsConstructor;
+
+// 채팅방별 메세지 순번 발급
+// 메세지를 받는 즉시 메모리에서 발급하고 (DB 는 write-behind 가 묶어서 study_chatroom.last_seq 로 반영)
+// 채팅방 첫 메세지때만 저장된 마지막 순번을 읽는다
+// : last_seq 는 기록이 끝난 뒤에야 반영되므로 저장소의 최대 순번, 기동시 복구한 보관 파일의 순번 중 가장 큰 값부터 이어서 발급
+// STOMP simple broker 라 채팅방 메세지는 한 서버에서만 처리되므로 서버 안에서만 순번을 맞추면 된다
+@Component
+@RequiredArgsConstructor
+public class ChatRoomSequence {
+
+	private final ChatRoomRepository chatRoomRepository;
+	private final ChatMessageStore chatMessageStore;
+
+	private final Map<Integer, AtomicLong> sequences = new ConcurrentHashMap<>();
+	// 보관 파일에서 읽은 채팅방별 최대 순번 (저장소에 아직 기록되지 못했을 수 있음)
+	private final Map<Integer, Long> spilledSeqs = new ConcurrentHashMap<>();
+
+	// 다음 메세지 순번
+	public long next(int roomId) {
+		return counter(roomId).incrementAndGet();
+	}
+
+	// 지금까지 발급한 마지막 순번
+	public long current(int roomId) {
+		return counter(roomId).get();
+	}
+
+	// 이미 발급된 순번 알림 (기동시 보관 파일 복구에서 호출, 이후 발급은 이 순번 다음부터)
+	public void observe(int roomId, long seq) {
+		spilledSeqs.merge(roomId, seq, Math::max);
+		AtomicLong counter = sequences.get(roomId);
+		if (counter != null) {
+			counter.accumulateAndGet(seq, Math::max);
+		}
+	}
+
+	private AtomicLong counter(int roomId) {
+		return sequences.computeIfAbsent(roomId, id -> new AtomicLong(Math.max(
+				Math.max(chatRoomRepository.findLastSeq(id).orElse(0L), chatMessageStore.lastSeq(id)),
+				spilledSeqs.getOrDefault(id, 0L))));
+	}
+}
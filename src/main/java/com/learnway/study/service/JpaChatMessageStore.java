@@ -0,0 +1,89 @@
+package com.learnway.study.service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.learnway.study.domain.ChatMessageRepository;
+import com.learnway.study.dto.ChatMessageDto;
+import com.learnway.study.dto.PendingChatMessage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// chat_message 테이블 저장소 (기본)
+// 기록은 JDBC batch insert (rewriteBatchedStatements 로 multi-row INSERT 한번), 조회는 (study_chatroomid, chat_msg_id) 인덱스 keyset
+// chat_message 에서 모자란 이전 메세지는 보관 테이블(ChatMessageArchive)에서 이어서 읽음
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "learnway.chat.store.type", havingValue = "jpa", matchIfMissing = true)
+public class JpaChatMessageStore implements ChatMessageStore {
+
+	private static final String INSERT_SQL =
+			"INSERT INTO chat_message (study_chatroomid, chat_seq, id, chat_msg, chat_date) VALUES (?, ?, ?, ?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ChatMessageRepository chatMessageRepository;
+	private final ChatMessageArchive chatMessageArchive;
+
+	@Override
+	public void appendAll(List<PendingChatMessage> messages) {
+		try {
+			insert(messages);
+		} catch (DataIntegrityViolationException e) {
+			// 그 사이 삭제된 채팅방 등 일부 행 문제 : 한 행씩 기록하고 실패한 행만 버림
+			for (PendingChatMessage message : messages) {
+				try {
+					insert(List.of(message));
+				} catch (DataIntegrityViolationException rowError) {
+					log.warn("채팅 저장 불가로 버림 : roomId={}, memberId={}, {}", message.getRoomId(), message.getMemberId(), rowError.getMessage());
+				}
+			}
+		}
+	}
+
+	@Override
+	public List<ChatMessageDto> findPage(int roomId, Integer before, Long beforeSeq, int limit) {
+		PageRequest page = PageRequest.of(0, limit);
+		List<ChatMessageDto> messages = new ArrayList<>();
+		if (before == null && beforeSeq != null) {
+			messages.addAll(chatMessageRepository.findPageBySeq(roomId, beforeSeq, page));
+		} else {
+			messages.addAll(chatMessageRepository.findPage(roomId, before == null ? Integer.MAX_VALUE : before, page));
+		}
+		Collections.reverse(messages);
+		if (messages.size() < limit) {
+			// 보관된 메세지는 chat_message 에 남은 메세지보다 항상 이전
+			List<ChatMessageDto> archived = messages.isEmpty()
+					? chatMessageArchive.findPage(roomId, before, beforeSeq, limit)
+					: chatMessageArchive.findPage(roomId, messages.get(0).getMsgId(), null, limit - messages.size());
+			messages.addAll(0, archived);
+		}
+		return messages;
+	}
+
+	@Override
+	public long lastSeq(int roomId) {
+		// (study_chatroomid, chat_seq) 인덱스 끝 한건, 보관 테이블로 옮긴 메세지는 study_chatroom.last_seq 로 충분 (옮기기 한참 전에 반영됨)
+		Long seq = jdbcTemplate.queryForObject("SELECT MAX(chat_seq) FROM chat_message WHERE study_chatroomid = ?", Long.class, roomId);
+		return seq == null ? 0 : seq;
+	}
+
+	private void insert(List<PendingChatMessage> messages) {
+		jdbcTemplate.batchUpdate(INSERT_SQL, messages, messages.size(), (ps, message) -> {
+			ps.setInt(1, message.getRoomId());
+			ps.setLong(2, message.getSeq());
+			ps.setLong(3, message.getMemberId());
+			ps.setString(4, message.getMessage());
+			ps.setTimestamp(5, Timestamp.valueOf(message.getDatetime()));
+		});
+	}
+}
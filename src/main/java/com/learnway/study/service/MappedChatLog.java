@@ -0,0 +1,408 @@
+package com.learnway.study.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import com.learnway.study.dto.ChatMessageDto;
+import com.learnway.study.dto.PendingChatMessage;
+
+// 채팅 메세지 append-only 로그 (memory-mapped segment 파일)
+// - 고정 크기 segment 파일을 mmap 해서 끝에 이어쓰기만 한다 (가득 차면 다음 segment)
+// - 레코드 : [길이 int][crc32 int][채팅방 int][순번 long][회원 long][시간 long][이름 short+bytes][내용 int+bytes]
+//   길이를 마지막에 써서 길이가 0 이거나 crc 가 맞지 않는 곳을 로그의 끝으로 본다 (비정상 종료시 마지막 레코드만 버려짐)
+// - 채팅방별 (순번, 위치) 인덱스는 메모리에 두고 기동시 segment 를 순서대로 읽어 다시 만든다
+// - compact : 보관기간이 지난 레코드를 지우고, 살아있는 레코드가 적은 오래된 segment 는 살아있는 레코드만 새 segment 로 옮긴 뒤 삭제
+// 쓰기(기록 스레드 하나)와 compact 는 write lock, 조회는 read lock
+public class MappedChatLog implements Closeable {
+
+	private static final int HEADER_BYTES = 8;			// 길이 + crc
+	private static final int FIXED_PAYLOAD_BYTES = 4 + 8 + 8 + 8 + 2 + 4;
+	private static final String SUFFIX = ".seg";
+
+	private final Path dir;
+	private final int segmentBytes;
+	private final boolean force;
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final TreeMap<Long, Segment> segments = new TreeMap<>();
+	private final Map<Integer, RoomIndex> rooms = new HashMap<>();
+	private final CRC32 crc = new CRC32();
+	private Segment active;
+
+	private MappedChatLog(Path dir, int segmentBytes, boolean force) {
+		this.dir = dir;
+		this.segmentBytes = segmentBytes;
+		this.force = force;
+	}
+
+	// 로그 열기 (기존 segment 를 읽어 채팅방 인덱스 복구)
+	public static MappedChatLog open(Path dir, int segmentBytes, boolean force) throws IOException {
+		MappedChatLog log = new MappedChatLog(dir, segmentBytes, force);
+		log.recover();
+		return log;
+	}
+
+	private void recover() throws IOException {
+		Files.createDirectories(dir);
+		List<Path> files;
+		try (Stream<Path> list = Files.list(dir)) {
+			files = list.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+		}
+		for (Path file : files) {
+			String name = file.getFileName().toString();
+			Segment segment = Segment.map(Long.parseLong(name.substring(0, name.length() - SUFFIX.length())), file,
+					(int) Math.max(segmentBytes, Files.size(file)));
+			segments.put(segment.id, segment);
+			segment.writePos = scan(segment, (offset, roomId, seq, epochSecond) -> room(roomId).put(seq, position(segment.id, offset)));
+		}
+		if (segments.isEmpty()) {
+			active = newSegment(0);
+		} else {
+			active = segments.lastEntry().getValue();
+			// 마지막 레코드가 쓰다가 끊긴 경우 남은 부분을 비워서 다음 기동때 잘못 읽지 않도록
+			if (active.writePos + 4 <= active.capacity() && active.buffer.getInt(active.writePos) != 0) {
+				for (int i = active.writePos; i < active.capacity(); i++) {
+					active.buffer.put(i, (byte) 0);
+				}
+				active.buffer.force();
+			}
+		}
+	}
+
+	// 메세지 묶음 기록
+	public void append(List<PendingChatMessage> messages) throws IOException {
+		lock.writeLock().lock();
+		try {
+			int start = active.writePos;
+			Segment first = active;
+			for (PendingChatMessage message : messages) {
+				byte[] name = bytes(message.getName());
+				byte[] text = bytes(message.getMessage());
+				int payload = FIXED_PAYLOAD_BYTES + name.length + text.length;
+				if (HEADER_BYTES + payload > segmentBytes) {
+					throw new IllegalArgumentException("채팅 메세지가 segment 보다 큽니다 : " + payload + " bytes");
+				}
+				if (active.writePos + HEADER_BYTES + payload > active.capacity()) {
+					roll();
+				}
+				int offset = active.writePos;
+				ByteBuffer buffer = active.buffer;
+				int p = offset + HEADER_BYTES;
+				buffer.putInt(p, message.getRoomId());
+				buffer.putLong(p + 4, message.getSeq());
+				buffer.putLong(p + 12, message.getMemberId());
+				buffer.putLong(p + 20, message.getDatetime() == null ? 0 : message.getDatetime().toEpochSecond(ZoneOffset.UTC));
+				buffer.putShort(p + 28, (short) name.length);
+				buffer.put(p + 30, name);
+				buffer.putInt(p + 30 + name.length, text.length);
+				buffer.put(p + 34 + name.length, text);
+				buffer.putInt(offset + 4, checksum(buffer, p, payload));
+				buffer.putInt(offset, payload);
+				active.writePos = p + payload;
+				room(message.getRoomId()).put(message.getSeq(), position(active.id, offset));
+			}
+			if (force) {
+				if (first == active) {
+					active.buffer.force(start, active.writePos - start);
+				} else {
+					active.buffer.force(0, active.writePos);
+				}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// beforeSeq 이전 최대 limit 개 (시간순), beforeSeq 가 null 이면 최근 메세지
+	public List<ChatMessageDto> read(int roomId, Long beforeSeq, int limit) {
+		lock.readLock().lock();
+		try {
+			RoomIndex index = rooms.get(roomId);
+			if (index == null) {
+				return List.of();
+			}
+			int end = beforeSeq == null ? index.size : index.lowerBound(beforeSeq);
+			int start = Math.max(0, end - limit);
+			List<ChatMessageDto> messages = new ArrayList<>(end - start);
+			for (int i = start; i < end; i++) {
+				long position = index.positions[i];
+				messages.add(decode(segments.get(position >>> 32), (int) position));
+			}
+			return messages;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// 채팅방의 가장 큰 순번 (없으면 0)
+	public long lastSeq(int roomId) {
+		lock.readLock().lock();
+		try {
+			RoomIndex index = rooms.get(roomId);
+			return index == null ? 0 : index.seqs[index.size - 1];
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// 보관기간(expireBefore 이전) 지난 레코드 정리, 살아있는 레코드 비율이 minLiveRatio 미만인 segment 는 옮기고 삭제
+	// 반환 : 삭제한 segment 수
+	public int compact(LocalDateTime expireBefore, double minLiveRatio) throws IOException {
+		long cutoff = expireBefore == null ? Long.MIN_VALUE : expireBefore.toEpochSecond(ZoneOffset.UTC);
+		lock.writeLock().lock();
+		try {
+			int removed = 0;
+			for (Segment segment : new ArrayList<>(segments.headMap(active.id).values())) {
+				List<Integer> live = new ArrayList<>();
+				List<long[]> expired = new ArrayList<>();
+				int[] total = new int[1];
+				scan(segment, (offset, roomId, seq, epochSecond) -> {
+					total[0]++;
+					RoomIndex index = rooms.get(roomId);
+					if (index == null || index.positionOf(seq) != position(segment.id, offset)) {
+						return;			// 이미 다른 segment 로 옮겨진 레코드
+					}
+					if (epochSecond != 0 && epochSecond < cutoff) {
+						expired.add(new long[] { roomId, seq });
+					} else {
+						live.add(offset);
+					}
+				});
+				// 살아있는 레코드(보관기간 안, 다른 곳으로 옮겨지지 않은 레코드)가 충분하면 그대로 둠
+				if (total[0] > 0 && live.size() >= total[0] * minLiveRatio) {
+					continue;
+				}
+				for (long[] record : expired) {
+					RoomIndex index = rooms.get((int) record[0]);
+					index.remove(record[1]);
+					if (index.size == 0) {
+						rooms.remove((int) record[0]);
+					}
+				}
+				for (int offset : live) {
+					moveToActive(segment, offset);
+				}
+				if (force && !live.isEmpty()) {
+					active.buffer.force();
+				}
+				segments.remove(segment.id);
+				Files.deleteIfExists(segment.path);
+				removed++;
+			}
+			return removed;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// 레코드를 그대로 현재 segment 끝에 복사하고 인덱스 위치 변경
+	private void moveToActive(Segment from, int offset) throws IOException {
+		int length = HEADER_BYTES + from.buffer.getInt(offset);
+		if (active.writePos + length > active.capacity()) {
+			roll();
+		}
+		byte[] record = new byte[length];
+		from.buffer.get(offset, record);
+		int target = active.writePos;
+		active.buffer.put(target + 4, record, 4, length - 4);
+		active.buffer.putInt(target, length - HEADER_BYTES);
+		active.writePos = target + length;
+		int roomId = from.buffer.getInt(offset + HEADER_BYTES);
+		long seq = from.buffer.getLong(offset + HEADER_BYTES + 4);
+		rooms.get(roomId).put(seq, position(active.id, target));
+	}
+
+	public int segmentCount() {
+		lock.readLock().lock();
+		try {
+			return segments.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public void close() {
+		lock.writeLock().lock();
+		try {
+			if (active != null) {
+				active.buffer.force();
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void roll() throws IOException {
+		active.buffer.force();
+		active = newSegment(active.id + 1);
+	}
+
+	private Segment newSegment(long id) throws IOException {
+		Segment segment = Segment.map(id, dir.resolve(String.format("%020d%s", id, SUFFIX)), segmentBytes);
+		segments.put(id, segment);
+		return segment;
+	}
+
+	private RoomIndex room(int roomId) {
+		return rooms.computeIfAbsent(roomId, id -> new RoomIndex());
+	}
+
+	// 유효한 레코드를 순서대로 읽고 로그의 끝 위치 반환
+	private int scan(Segment segment, RecordVisitor visitor) throws IOException {
+		MappedByteBuffer buffer = segment.buffer;
+		int offset = 0;
+		while (offset + HEADER_BYTES <= segment.capacity()) {
+			int payload = buffer.getInt(offset);
+			if (payload < FIXED_PAYLOAD_BYTES || offset + HEADER_BYTES + payload > segment.capacity()
+					|| buffer.getInt(offset + 4) != checksum(buffer, offset + HEADER_BYTES, payload)) {
+				break;
+			}
+			int p = offset + HEADER_BYTES;
+			visitor.visit(offset, buffer.getInt(p), buffer.getLong(p + 4), buffer.getLong(p + 20));
+			offset = p + payload;
+		}
+		return offset;
+	}
+
+	private ChatMessageDto decode(Segment segment, int offset) {
+		ByteBuffer buffer = segment.buffer;
+		int p = offset + HEADER_BYTES;
+		long seq = buffer.getLong(p + 4);
+		long epochSecond = buffer.getLong(p + 20);
+		byte[] name = new byte[buffer.getShort(p + 28)];
+		buffer.get(p + 30, name);
+		byte[] text = new byte[buffer.getInt(p + 30 + name.length)];
+		buffer.get(p + 34 + name.length, text);
+		return new ChatMessageDto(null, seq, new String(name, StandardCharsets.UTF_8), new String(text, StandardCharsets.UTF_8),
+				epochSecond == 0 ? null : LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC));
+	}
+
+	private int checksum(ByteBuffer buffer, int from, int length) {
+		ByteBuffer slice = buffer.duplicate();
+		slice.limit(from + length).position(from);
+		crc.reset();
+		crc.update(slice);
+		return (int) crc.getValue();
+	}
+
+	private static byte[] bytes(String value) {
+		return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static long position(long segmentId, int offset) {
+		return segmentId << 32 | offset;
+	}
+
+	private interface RecordVisitor {
+		void visit(int offset, int roomId, long seq, long epochSecond) throws IOException;
+	}
+
+	private static final class Segment {
+
+		final long id;
+		final Path path;
+		final MappedByteBuffer buffer;
+		int writePos;
+
+		private Segment(long id, Path path, MappedByteBuffer buffer) {
+			this.id = id;
+			this.path = path;
+			this.buffer = buffer;
+		}
+
+		// 파일을 size 만큼 늘려서 통째로 mmap (채널은 닫아도 매핑은 유지됨)
+		static Segment map(long id, Path path, int size) throws IOException {
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+					StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				return new Segment(id, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+			}
+		}
+
+		int capacity() {
+			return buffer.capacity();
+		}
+	}
+
+	// 채팅방 하나의 (순번, 위치) 목록 : 순번 오름차순 배열 두개
+	private static final class RoomIndex {
+
+		long[] seqs = new long[16];
+		long[] positions = new long[16];
+		int size;
+
+		void put(long seq, long position) {
+			if (size == 0 || seq > seqs[size - 1]) {
+				grow();
+				seqs[size] = seq;
+				positions[size] = position;
+				size++;
+				return;
+			}
+			int i = lowerBound(seq);
+			if (i < size && seqs[i] == seq) {
+				positions[i] = position;		// 같은 메세지 (보관 파일 재기록 / compact 이동)
+				return;
+			}
+			grow();
+			System.arraycopy(seqs, i, seqs, i + 1, size - i);
+			System.arraycopy(positions, i, positions, i + 1, size - i);
+			seqs[i] = seq;
+			positions[i] = position;
+			size++;
+		}
+
+		long positionOf(long seq) {
+			int i = lowerBound(seq);
+			return i < size && seqs[i] == seq ? positions[i] : -1;
+		}
+
+		void remove(long seq) {
+			int i = lowerBound(seq);
+			if (i < size && seqs[i] == seq) {
+				System.arraycopy(seqs, i + 1, seqs, i, size - i - 1);
+				System.arraycopy(positions, i + 1, positions, i, size - i - 1);
+				size--;
+			}
+		}
+
+		// seq 이상인 첫 위치
+		int lowerBound(long seq) {
+			int low = 0;
+			int high = size;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (seqs[mid] < seq) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+
+		private void grow() {
+			if (size == seqs.length) {
+				seqs = Arrays.copyOf(seqs, size * 2);
+				positions = Arrays.copyOf(positions, size * 2);
+			}
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package com.learnway.study.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.learnway.study.dto.ChatMessageDto;
+import com.learnway.study.dto.PendingChatMessage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// 파일 로그 저장소 (learnway.chat.store.type=mmap)
+// 메세지 기록이 DB insert 대신 mmap segment 파일 끝에 이어쓰기가 된다 (MappedChatLog)
+// chat_message 테이블의 기존 메세지는 옮기지 않으므로 전환 이후 메세지만 조회된다
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "learnway.chat.store.type", havingValue = "mmap")
+public class MappedLogChatMessageStore implements ChatMessageStore {
+
+	@Value("${learnway.chat.store.log.dir:data/chat-log}")
+	private String dir;
+
+	@Value("${learnway.chat.store.log.segment-mb:64}")
+	private int segmentMb;
+
+	// 묶음마다 디스크까지 기록 (false 면 OS 가 알아서 기록, 서버 장애시 최근 메세지 유실 가능)
+	@Value("${learnway.chat.store.log.fsync:true}")
+	private boolean fsync;
+
+	// 보관기간 (0 이면 무제한), 지난 메세지는 compact 때 segment 단위로 정리
+	@Value("${learnway.chat.store.log.retention-days:0}")
+	private long retentionDays;
+
+	// 살아있는 레코드가 이 비율보다 적은 segment 를 compact
+	@Value("${learnway.chat.store.log.compact-live-ratio:0.5}")
+	private double compactLiveRatio;
+
+	private MappedChatLog chatLog;
+
+	@PostConstruct
+	void open() throws IOException {
+		chatLog = MappedChatLog.open(Paths.get(dir), segmentMb * 1024 * 1024, fsync);
+		log.info("채팅 로그 저장소 : {} (segment {}개)", dir, chatLog.segmentCount());
+	}
+
+	@Override
+	public void appendAll(List<PendingChatMessage> messages) {
+		try {
+			chatLog.append(messages);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public List<ChatMessageDto> findPage(int roomId, Integer before, Long beforeSeq, int limit) {
+		if (before != null && beforeSeq == null) {
+			// msgId 커서는 chat_message 테이블 메세지용 (로그에는 없음)
+			return List.of();
+		}
+		return chatLog.read(roomId, beforeSeq, limit);
+	}
+
+	@Override
+	public long lastSeq(int roomId) {
+		return chatLog.lastSeq(roomId);
+	}
+
+	@Scheduled(fixedDelayString = "${learnway.chat.store.log.compact-interval-ms:3600000}")
+	public void compact() {
+		try {
+			int removed = chatLog.compact(retentionDays > 0 ? LocalDateTime.now().minusDays(retentionDays) : null, compactLiveRatio);
+			if (removed > 0) {
+				log.info("채팅 로그 segment 정리 : {}개", removed);
+			}
+		} catch (IOException e) {
+			log.warn("채팅 로그 정리 실패 : {}", e.getMessage());
+		}
+	}
+
+	@PreDestroy
+	void close() {
+		chatLog.close();
+	}
+}
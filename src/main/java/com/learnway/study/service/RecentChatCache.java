@@ -0,0 +1,173 @@
+package com.learnway.study.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.learnway.study.dto.ChatMessageDto;
+
+import jakarta.annotation.PostConstruct;
+
+// 채팅방별 최근 메세지 캐시 (채팅방 입장시 DB 를 읽지 않고 최근 내역 표시)
+// - 채팅방마다 고정 크기 ring buffer 하나, 메세지 한건은 배열 칸 하나 (순번/시간은 long, 내용은 UTF-8 byte[])
+//   메세지마다 DTO/LocalDateTime 객체를 들고 있지 않아서 채팅방이 늘어도 GC 부담이 작다
+// - 입장한 적 있는 채팅방만 캐시, 오래 입장하지 않은 채팅방부터 LRU 로 제거
+// - 캐시에 없는 채팅방은 open -> (DB 조회) -> seed 순서로 채우고, open 이후 메세지는 append 로 들어온다
+//   seed 는 DB 내역과 그 사이 ring 에 쌓인 메세지를 순번으로 합치고 중복을 뺀다 (어느 한쪽에만 있어도 빠지지 않음)
+@Component
+public class RecentChatCache {
+
+	@Value("${learnway.chat.recent.size:50}")
+	private int size;
+
+	@Value("${learnway.chat.recent.max-rooms:1000}")
+	private int maxRooms;
+
+	private Map<Integer, RoomRing> rooms;
+
+	@PostConstruct
+	void init() {
+		rooms = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, RoomRing> eldest) {
+				return size() > maxRooms;
+			}
+		};
+	}
+
+	// 캐시된 최근 메세지 (시간순), 캐시에 없거나 아직 채우는 중이면 null
+	public List<ChatMessageDto> get(int roomId) {
+		RoomRing ring;
+		synchronized (rooms) {
+			ring = rooms.get(roomId);
+		}
+		return ring == null ? null : ring.snapshot(false);
+	}
+
+	// 캐시 자리 확보 : 이후 들어오는 메세지는 seed 전이라도 ring 에 쌓인다
+	public void open(int roomId) {
+		synchronized (rooms) {
+			rooms.computeIfAbsent(roomId, id -> new RoomRing(size));
+		}
+	}
+
+	// DB 에서 읽은 최근 내역(시간순)과 open 이후 메세지를 합쳐서 채움
+	public List<ChatMessageDto> seed(int roomId, List<ChatMessageDto> history) {
+		RoomRing ring;
+		synchronized (rooms) {
+			ring = rooms.get(roomId);
+		}
+		if (ring == null) {
+			// 그 사이 LRU 로 밀려남
+			return history;
+		}
+		ring.seed(history);
+		return ring.snapshot(true);
+	}
+
+	// 새 메세지 (캐시에 있는 채팅방만)
+	public void append(int roomId, long seq, String name, String message, LocalDateTime datetime) {
+		RoomRing ring;
+		synchronized (rooms) {
+			ring = rooms.get(roomId);
+		}
+		if (ring != null) {
+			ring.append(0, seq, name, message, datetime);
+		}
+	}
+
+	// 채팅방당 보관하는 메세지 수
+	public int capacity() {
+		return size;
+	}
+
+	private static final class RoomRing {
+
+		private final int[] msgIds;			// DB 에서 채운 메세지만 (0 = 아직 저장 전)
+		private final long[] seqs;			// 0 = 순번 도입 이전 메세지
+		private final long[] times;			// chat_date (초 단위)
+		private final String[] names;		// 보낸 사람 이름 (회원 정보의 문자열을 그대로 참조)
+		private final byte[][] texts;
+		private int head;					// 다음에 쓸 칸
+		private int count;
+		private boolean seeded;
+
+		RoomRing(int capacity) {
+			msgIds = new int[capacity];
+			seqs = new long[capacity];
+			times = new long[capacity];
+			names = new String[capacity];
+			texts = new byte[capacity][];
+		}
+
+		synchronized void append(int msgId, long seq, String name, String message, LocalDateTime datetime) {
+			msgIds[head] = msgId;
+			seqs[head] = seq;
+			times[head] = datetime == null ? 0 : datetime.toEpochSecond(ZoneOffset.UTC);
+			names[head] = name;
+			texts[head] = message == null ? new byte[0] : message.getBytes(StandardCharsets.UTF_8);
+			head = (head + 1) % seqs.length;
+			count = Math.min(count + 1, seqs.length);
+		}
+
+		// 순번 없는 DB 내역(순번 도입 이전) + DB 내역과 ring 에 쌓인 메세지를 순번순으로 다시 채움
+		// 양쪽에 다 있는 메세지는 msgId 가 있는 DB 쪽 하나만
+		synchronized void seed(List<ChatMessageDto> history) {
+			if (seeded) {
+				return;
+			}
+			TreeMap<Long, ChatMessageDto> bySeq = new TreeMap<>();
+			for (ChatMessageDto message : snapshot(true)) {
+				bySeq.put(message.getSeq(), message);
+			}
+			List<ChatMessageDto> legacy = new ArrayList<>();
+			for (ChatMessageDto message : history) {
+				if (message.getSeq() == null) {
+					legacy.add(message);
+				} else {
+					bySeq.put(message.getSeq(), message);
+				}
+			}
+			head = 0;
+			count = 0;
+			for (ChatMessageDto message : legacy) {
+				append(message);
+			}
+			for (ChatMessageDto message : bySeq.values()) {
+				append(message);
+			}
+			seeded = true;
+		}
+
+		private void append(ChatMessageDto message) {
+			append(message.getMsgId() == null ? 0 : message.getMsgId(),
+					message.getSeq() == null ? 0 : message.getSeq(),
+					message.getName(), message.getMessage(), message.getDatetime());
+		}
+
+		synchronized List<ChatMessageDto> snapshot(boolean unseeded) {
+			if (!seeded && !unseeded) {
+				return null;
+			}
+			List<ChatMessageDto> messages = new ArrayList<>(count);
+			int start = (head - count + seqs.length) % seqs.length;
+			for (int i = 0; i < count; i++) {
+				int slot = (start + i) % seqs.length;
+				messages.add(new ChatMessageDto(msgIds[slot] == 0 ? null : msgIds[slot],
+						seqs[slot] == 0 ? null : seqs[slot],
+						names[slot],
+						new String(texts[slot], StandardCharsets.UTF_8),
+						times[slot] == 0 ? null : LocalDateTime.ofEpochSecond(times[slot], 0, ZoneOffset.UTC)));
+			}
+			return messages;
+		}
+	}
+}
@@ -1,29 +1,52 @@
 package com.learnway.study.service;
 
 import java.security.Principal;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import com.learnway.member.domain.Member;
 import com.learnway.member.domain.MemberRepository;
-import com.learnway.study.domain.ChatMessage;
-import com.learnway.study.domain.ChatMessageRepository;
+import com.learnway.member.service.CustomUserDetails;
+import com.learnway.study.domain.ChatReadPointerRepository;
+import com.learnway.study.domain.ChatReadView;
 import com.learnway.study.domain.ChatRoom;
 import com.learnway.study.domain.ChatRoomMember;
 import com.learnway.study.domain.ChatRoomMemberRepository;
 import com.learnway.study.domain.ChatRoomRepository;
+import com.learnway.study.domain.ChatRoomSummaryView;
 import com.learnway.study.domain.Study;
 import com.learnway.study.domain.StudyChatRepository;
+import com.learnway.study.dto.ChatMessageDto;
+import com.learnway.study.dto.ChatResyncDto;
 import com.learnway.study.dto.ChatRoomDto;
 import com.learnway.study.dto.ChatRoomMemberDto;
+import com.learnway.study.dto.PendingChatMessage;
+import com.learnway.notification.domain.NotificationType;
+import com.learnway.notification.service.MemberNotificationService;
 
 @Service
 public class StudyChatService {
 
+	// @이름 멘션
+	private static final Pattern MENTION = Pattern.compile("@([^\\s@]+)");
+	// 채팅 내역 한번에 조회할 최대 메세지 수
+	private static final int MAX_CHAT_PAGE = 200;
+	// 재연결시 한번에 보내줄 최대 메세지 수 (더 많이 놓쳤으면 채팅방을 다시 불러옴)
+	private static final int MAX_RESYNC = 200;
+
 	@Autowired
 	private StudyChatRepository studyChatRepository;
 	@Autowired
@@ -33,7 +56,19 @@ public class StudyChatService {
 	@Autowired
 	private ChatRoomRepository chatRoomRepository;
 	@Autowired
-	private ChatMessageRepository chatMessageRepository;
+	private MemberNotificationService memberNotificationService;
+	@Autowired
+	private ChatMessageWriteBehind chatMessageWriteBehind;
+	@Autowired
+	private ChatRoomSequence chatRoomSequence;
+	@Autowired
+	private RecentChatCache recentChatCache;
+	@Autowired
+	private ChatMessageStore chatMessageStore;
+	@Autowired
+	private ChatReadPointerRepository chatReadPointerRepository;
+	@Autowired
+	private ChatMessageDedup chatMessageDedup;
 	
 	
 	//postId로 ChatRoomId 조회
@@ -44,25 +79,19 @@ public class StudyChatService {
 	
 	//채팅방 멤버이름값
 	public String MemberName(Principal principal) {
+		if (principal instanceof Authentication authentication
+				&& authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+			return userDetails.getName();
+		}
 		Member member = memberRepository.findByMemberId(principal.getName())
 	            .orElseThrow(() -> new IllegalArgumentException("Invalid member ID: " + principal.getName()));
 		return member.getMemberName();
 	}
 	
-	//채팅방 리스트 조회
-	public List<ChatRoomMember> chatList(Principal principal) {
-		
-		List<ChatRoomMember> list = chatRoomMemberRepository.findByMember_MemberId(
-				principal.getName());
-		return list;
-	}
-	
-	//로그인사용자가 방장인 채팅방 조회
-	public List<ChatRoom> myChatList(Principal principal) {
+	//채팅방 리스트 조회 (참여중인 채팅방 + 방장인 채팅방, 쿼리 한번)
+	public List<ChatRoomSummaryView> chatRoomSummaries(Principal principal) {
 		
-		List<ChatRoom> list = chatRoomRepository.findByMember_MemberId(
-				principal.getName());
-		return list;
+		return chatRoomRepository.findSummaries(memberPk(principal));
 	}
 	
 //	채팅방 참여 메서드
@@ -116,20 +145,127 @@ public class StudyChatService {
 	
 	
 	
-	//채팅 보관 메서드
-	public ChatMessage storechat(ChatRoomDto dto,Principal principal) {
-		
-		//멤버값 넣을예정 임시로 1로지정
-		Member member = memberRepository.findByMemberId(principal.getName())
-	            .orElseThrow(() -> new IllegalArgumentException("Invalid member ID: " + principal.getName()));
+	//채팅 보관 메서드 : 채팅방 메세지 순번을 발급해서 dto 에 넣고 최근 메세지 캐시와 write-behind 대기열에 추가 (묶어서 batch insert)
+	//clientMsgId 가 이미 받은 id 면 저장하지 않고 false (dto.seq 는 처음 받았을때 발급한 순번)
+	public boolean storechat(ChatRoomDto dto,Principal principal) {
 		
-		ChatRoom chatRoom = studyChatRepository.findById(dto.getRoomId())
-				.orElseThrow(()-> new IllegalArgumentException("채팅방아이디  " + dto.getRoomId()));
-		
-		ChatMessage msg = ChatMessage.builder().msg(dto.getMessage()).member(member)
-										       .chatroom(chatRoom)
-											   .datetime(dto.getDatetime()).build();
-		return msg;
+		long memberPk = memberPk(principal);
+		dto.setName(MemberName(principal));
+		dto.setSeq(null);
+		if (dto.getClientMsgId() != null) {
+			Long previous = chatMessageDedup.claim(dto.getRoomId(), memberPk, dto.getClientMsgId(), () -> {
+				dto.setSeq(chatRoomSequence.next(dto.getRoomId()));
+				return dto.getSeq();
+			});
+			if (previous != null) {
+				dto.setSeq(previous);
+				return false;
+			}
+		} else {
+			dto.setSeq(chatRoomSequence.next(dto.getRoomId()));
+		}
+		recentChatCache.append(dto.getRoomId(), dto.getSeq(), dto.getName(), dto.getMessage(), dto.getDatetime());
+		chatMessageWriteBehind.append(new PendingChatMessage(dto.getRoomId(), dto.getSeq(), memberPk,
+				dto.getName(), dto.getMessage(), dto.getDatetime()));
+		return true;
+	}
+	
+	//재연결시 놓친 메세지 : afterSeq 이후 메세지 (최근 메세지 캐시로 충분하면 DB 를 읽지 않음)
+	public ChatResyncDto resync(int roomId, long afterSeq) {
+		List<ChatMessageDto> messages = new ArrayList<>();
+		if (afterSeq >= chatRoomSequence.current(roomId)) {
+			return new ChatResyncDto(roomId, messages, false);
+		}
+		List<ChatMessageDto> recent = recentMessages(roomId);
+		boolean complete = recent.size() < recentChatCache.capacity() || containsUpTo(recent, afterSeq);
+		messages.addAll(recent);
+		if (!complete) {
+			// 캐시보다 많이 놓쳤으면 캐시 이전 한 페이지 더 (그래도 모자라면 다시 불러오게)
+			Long oldestSeq = recent.isEmpty() ? null : recent.get(0).getSeq();
+			List<ChatMessageDto> older = oldestSeq == null ? List.of() : chatMessagePage(roomId, null, oldestSeq, MAX_RESYNC);
+			if (older.size() < MAX_RESYNC || containsUpTo(older, afterSeq)) {
+				messages.addAll(0, older);
+				complete = true;
+			}
+		}
+		if (!complete) {
+			return new ChatResyncDto(roomId, List.of(), true);
+		}
+		messages.removeIf(message -> message.getSeq() == null || message.getSeq() <= afterSeq);
+		return new ChatResyncDto(roomId, messages, false);
+	}
+	
+	private boolean containsUpTo(List<ChatMessageDto> messages, long seq) {
+		for (ChatMessageDto message : messages) {
+			if (message.getSeq() != null && message.getSeq() <= seq) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	//읽은 위치 갱신 (seq 가 없으면 지금까지의 마지막 메세지), 반영한 순번 반환
+	@Transactional
+	public long markRead(int roomId, Long seq, Principal principal) {
+		long current = chatRoomSequence.current(roomId);
+		long readSeq = seq == null ? current : Math.min(seq, current);
+		chatReadPointerRepository.advance(memberPk(principal), roomId, readSeq);
+		return readSeq;
+	}
+	
+	//채팅방 참여자 이름별 읽은 위치 (읽음 표시용)
+	public Map<String, Long> readPointers(int roomId) {
+		Map<String, Long> pointers = new HashMap<>();
+		for (ChatReadView view : chatReadPointerRepository.findByRoom(roomId)) {
+			pointers.put(view.getName(), view.getLastReadSeq());
+		}
+		return pointers;
+	}
+	
+	// 로그인 정보에 있는 회원 PK 사용 (없을때만 조회)
+	private long memberPk(Principal principal) {
+		if (principal instanceof Authentication authentication
+				&& authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+			return userDetails.getMemberId();
+		}
+		return memberRepository.findByMemberId(principal.getName())
+	            .orElseThrow(() -> new IllegalArgumentException("Invalid member ID: " + principal.getName()))
+	            .getId();
+	}
+	
+	//채팅 멘션(@이름) 알림 : 채팅방 방장/참여자 중 이름이 같은 회원의 알림함으로 (보낸 사람 제외)
+	@Async("notificationExecutor")
+	public void notifyMentions(ChatRoomDto dto, String senderId) {
+		Set<String> names = new HashSet<>();
+		Matcher matcher = MENTION.matcher(dto.getMessage());
+		while (matcher.find()) {
+			names.add(matcher.group(1));
+		}
+		if (names.isEmpty()) {
+			return;
+		}
+		ChatRoom chatRoom = chatRoomRepository.findById(dto.getRoomId()).orElse(null);
+		if (chatRoom == null) {
+			return;
+		}
+		Map<Long, Member> targets = new HashMap<>();
+		targets.put(chatRoom.getMember().getId(), chatRoom.getMember());
+		for (ChatRoomMember member : chatRoomMemberRepository.findByChatRoom_Chatroomid(dto.getRoomId())) {
+			targets.put(member.getMember().getId(), member.getMember());
+		}
+		String link = UriComponentsBuilder.fromPath("/enterRoom")
+				.queryParam("roomId", chatRoom.getChatroomid())
+				.queryParam("roomname", chatRoom.getRoomname())
+				.encode().build().toUriString();
+		String message = "[" + chatRoom.getRoomname() + "] " + dto.getName() + " : " + dto.getMessage();
+		if (message.length() > 200) {
+			message = message.substring(0, 200) + "...";
+		}
+		for (Member member : targets.values()) {
+			if (names.contains(member.getMemberName()) && !member.getMemberId().equals(senderId)) {
+				memberNotificationService.notify(member.getId(), NotificationType.CHAT, message, link);
+			}
+		}
 	}
 	
 	//채팅방 참여자 리스트(방장)
@@ -163,9 +299,43 @@ public class StudyChatService {
     }
 
 	
-	//이전채팅 가져오기
-	public List<ChatMessage> chatMessageList(ChatRoomDto dto) {
-		return chatMessageRepository.findByChatroom_Chatroomid(dto.getRoomId());
+	//이전채팅 가져오기 : before(msgId) 또는 beforeSeq(순번) 이전 최대 limit 개를 시간순으로 (첫 페이지는 둘 다 null)
+	//다음 페이지는 받은 목록 첫 메세지의 msgId 를 before 로, msgId 가 없으면(캐시에서 받은 메세지) seq 를 beforeSeq 로 전달
+	public List<ChatMessageDto> chatMessagePage(int roomId, Integer before, Long beforeSeq, int limit) {
+		return chatMessageStore.findPage(roomId, before, beforeSeq, Math.max(1, Math.min(limit, MAX_CHAT_PAGE)));
+	}
+	
+	//채팅방 입장시 최근 메세지 : 캐시에 있으면 DB 를 읽지 않음, 없으면 DB 에서 읽어 캐시를 채움
+	public List<ChatMessageDto> recentMessages(int roomId) {
+		List<ChatMessageDto> cached = recentChatCache.get(roomId);
+		if (cached != null) {
+			return cached;
+		}
+		//ring 을 먼저 만들고 순번을 읽음 : openSeq 이후 메세지는 ring 에 쌓이고, 그 이전 메세지는 DB 내역에서 채움
+		recentChatCache.open(roomId);
+		long openSeq = chatRoomSequence.current(roomId);
+		List<ChatMessageDto> history = chatMessagePage(roomId, null, null, recentChatCache.capacity());
+		//openSeq 까지 발급된 메세지가 아직 write-behind 대기열에 있으면 기록될때까지 잠시 기다렸다 다시 조회
+		for (int retry = 0; retry < 3 && lastSeq(history) < openSeq; retry++) {
+			try {
+				Thread.sleep(chatMessageWriteBehind.flushIntervalMs());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+			history = chatMessagePage(roomId, null, null, recentChatCache.capacity());
+		}
+		return recentChatCache.seed(roomId, history);
+	}
+	
+	private long lastSeq(List<ChatMessageDto> messages) {
+		long last = 0;
+		for (ChatMessageDto message : messages) {
+			if (message.getSeq() != null) {
+				last = Math.max(last, message.getSeq());
+			}
+		}
+		return last;
 	}
 	
 	//채팅방 처음입장 검사 처음입장시 return값 true / 아닐시 false반환
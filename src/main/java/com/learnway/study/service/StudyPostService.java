@@ -37,6 +37,8 @@ public class StudyPostService {
 	private StudyProblemRepository studyProblemRepository;
 	@Autowired
 	private StudyProblemImgRepository studyProblemImgRepository;
+	@Autowired
+	private ChatMessageArchive chatMessageArchive;
 	@PersistenceContext
 	private EntityManager entityManager;
 	
@@ -196,9 +198,11 @@ public class StudyPostService {
 	            .setParameter("postid", dto.getPostid())
 	            .executeUpdate();
 	    
-	    entityManager.createNativeQuery("DELETE FROM chat_message WHERE study_chatroomid IN (SELECT study_chatroomid FROM study_chatroom WHERE study_postid = :postid)")
+	    // 채팅방 조인으로 (study_chatroomid, chat_msg_id) 인덱스를 타서 해당 채팅방 메세지만 삭제
+	    entityManager.createNativeQuery("DELETE c FROM chat_message c JOIN study_chatroom r ON r.study_chatroomid = c.study_chatroomid WHERE r.study_postid = :postid")
 	    .setParameter("postid", dto.getPostid())
 	    .executeUpdate();
+	    chatMessageArchive.deleteByPost(dto.getPostid());
 	    
 	    entityManager.createNativeQuery("DELETE FROM chatroommember WHERE study_chatroomid IN (SELECT study_chatroomid FROM study_chatroom WHERE study_postid = :postid)")
 	    .setParameter("postid", dto.getPostid())
@@ -23,10 +23,11 @@ document.addEventListener('DOMContentLoaded', function() {
         });
     }
 
-    // 예약 데이터 생성
-    function fetchReservations(consultantId) {
+    // 예약 데이터 생성 (달력에 보이는 기간의 예약만 조회)
+    function fetchReservations(consultantId, from, to) {
         return $.ajax({
-            url: '/api/reservations?consultant=' + consultantId,
+            url: '/api/reservations/busy',
+            data: { consultant: consultantId, from: from, to: to },
             type: 'GET',
             dataType: 'json'
         }).done(function(data) {
@@ -81,7 +82,7 @@ document.addEventListener('DOMContentLoaded', function() {
                 daysOfWeek: [1, 2, 3, 4, 5]
             },
             events: function(fetchInfo, successCallback, failureCallback) {
-                fetchReservations(consultantId).done(function(data) {
+                fetchReservations(consultantId, formatDateToLocalISO(fetchInfo.start), formatDateToLocalISO(fetchInfo.end)).done(function(data) {
                     var events = transformEventData(data);
                     successCallback(events);
                 }).fail(function() {
@@ -155,26 +156,24 @@ document.addEventListener('DOMContentLoaded', function() {
 
 function transformEventData(data) {
     return data.map(event => {
-        console.log("예약데이터의 멤버아이디 : " + event.member.memberId);
-        console.log("로그인한 멤버아이디 : " + loginUserId);
         let boxColor;
         let titleContents;
         let isDisabled = false;
 
-        if (event.member.memberId === loginUserId) {
+        if (event.mine) {
             boxColor = '#C5E1A5'; // 본인 예약
             titleContents = loginUserName + '님 예약';
         } else {
             boxColor = 'gray'; // 다른 사람 예약
-            titleContents = event.counselor.name + ' 상담사';
+            titleContents = (consultantData ? consultantData.name : '') + ' 상담사';
             isDisabled = true;
         }
 
         return {
             id: event.id,
             title: titleContents,
-            start: event.bookingStart,
-            end: event.bookingEnd,
+            start: event.start,
+            end: event.end,
             backgroundColor: boxColor,
             textColor: 'black',
             borderColor: 'white',
@@ -230,6 +229,12 @@ function transformEventData(data) {
             },
             error: function(xhr, status, error) {
                 console.log("예약 실패: ", error);
+                if (xhr.status === 409) {
+                    alert("이미 예약된 시간입니다. 다른 시간을 선택해주세요.");
+                    $("#calendarModal").modal("hide");
+                    calendar.refetchEvents();
+                    return;
+                }
                 alert("예약에 실패했습니다. 다시 시도해주세요.");
             }
         });
@@ -0,0 +1,141 @@
+// 회원 알림 (사이드바 알림 뱃지 / 알림 목록)
+// 페이지마다 SSE 연결 하나로 예약/공지/채팅/일정 알림과 안읽은 개수를 받는다
+(function () {
+    var PAGE_SIZE = 20;
+    var TYPES = ['reservation', 'notice', 'chat', 'schedule'];
+    var LABELS = { reservation: '상담', notice: '공지', chat: '채팅', schedule: '일정' };
+    var before = null;
+
+    function $id(id) {
+        return document.getElementById(id);
+    }
+
+    function setUnread(count) {
+        var badge = $id('notificationBadge');
+        if (!badge) {
+            return;
+        }
+        badge.textContent = count > 99 ? '99+' : count;
+        badge.style.display = count > 0 ? 'inline-block' : 'none';
+    }
+
+    function escapeHtml(text) {
+        var div = document.createElement('div');
+        div.textContent = text == null ? '' : text;
+        return div.innerHTML;
+    }
+
+    function renderItem(notification, prepend) {
+        var list = $id('notificationList');
+        var item = document.createElement('a');
+        item.href = notification.link || '#';
+        item.className = 'notification-item' + (notification.read ? '' : ' unread');
+        item.dataset.id = notification.id == null ? '' : notification.id;
+        item.innerHTML = '<span class="notification-type">' + (LABELS[(notification.type || '').toLowerCase()] || '') + '</span> '
+            + escapeHtml(notification.message);
+        if (prepend) {
+            list.insertBefore(item, list.firstChild);
+        } else {
+            list.appendChild(item);
+        }
+    }
+
+    function loadPage(reset) {
+        if (reset) {
+            before = null;
+            $id('notificationList').innerHTML = '';
+        }
+        var url = '/api/notifications?size=' + PAGE_SIZE + (before != null ? '&before=' + before : '');
+        fetch(url).then(function (response) {
+            return response.json();
+        }).then(function (page) {
+            page.forEach(function (notification) {
+                renderItem(notification, false);
+            });
+            if (page.length > 0) {
+                before = page[page.length - 1].id;
+            }
+            $id('moreNotifications').style.display = page.length === PAGE_SIZE ? 'block' : 'none';
+        });
+    }
+
+    function showBroadcast(message) {
+        var banner = document.createElement('div');
+        banner.className = 'alert alert-dark';
+        banner.style.cssText = 'position: fixed; top: 10px; left: 50%; transform: translateX(-50%); z-index: 2000;';
+        banner.textContent = '[전체 공지] ' + message;
+        document.body.appendChild(banner);
+        setTimeout(function () {
+            banner.remove();
+        }, 10000);
+    }
+
+    function connect() {
+        var source = new EventSource('/sse/notifications');
+        source.addEventListener('unread', function (event) {
+            setUnread(JSON.parse(event.data).unread);
+        });
+        TYPES.forEach(function (type) {
+            source.addEventListener(type, function (event) {
+                var panel = $id('notificationPanel');
+                if (panel && panel.style.display === 'block') {
+                    renderItem(JSON.parse(event.data), true);
+                }
+            });
+        });
+        // 관리자 전체 공지 (알림함에는 저장되지 않음)
+        source.addEventListener('broadcast', function (event) {
+            showBroadcast(JSON.parse(event.data).message);
+        });
+        source.onerror = function (event) {
+            console.error('알림 SSE 연결 오류', event);
+        };
+    }
+
+    document.addEventListener('DOMContentLoaded', function () {
+        if (!$id('notificationBell')) {
+            return;
+        }
+        connect();
+
+        $id('notificationBell').addEventListener('click', function (e) {
+            e.preventDefault();
+            var panel = $id('notificationPanel');
+            var open = panel.style.display !== 'block';
+            panel.style.display = open ? 'block' : 'none';
+            if (open) {
+                loadPage(true);
+            }
+        });
+
+        $id('moreNotifications').addEventListener('click', function () {
+            loadPage(false);
+        });
+
+        $id('readAllNotifications').addEventListener('click', function () {
+            fetch('/api/notifications/read-all', { method: 'POST' }).then(function (response) {
+                return response.json();
+            }).then(function (result) {
+                setUnread(result.unread);
+                document.querySelectorAll('#notificationList .unread').forEach(function (item) {
+                    item.classList.remove('unread');
+                });
+            });
+        });
+
+        // 알림 클릭시 읽음 처리 후 이동
+        $id('notificationList').addEventListener('click', function (e) {
+            var item = e.target.closest('.notification-item');
+            if (!item || !item.dataset.id || !item.classList.contains('unread')) {
+                return;
+            }
+            e.preventDefault();
+            fetch('/api/notifications/' + item.dataset.id + '/read', { method: 'POST' }).finally(function () {
+                item.classList.remove('unread');
+                if (item.getAttribute('href') !== '#') {
+                    window.location.href = item.getAttribute('href');
+                }
+            });
+        });
+    });
+})();
@@ -0,0 +1,154 @@
+package com.learnway.consult.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.learnway.consult.dto.ConsultantNotification;
+import com.learnway.notification.dto.MemberNotificationDTO;
+
+// 두 서버(노드)가 Redis 하나를 공유할때 RedisNotificationBus 동작 확인
+// Redis 는 Testcontainers 로 띄운다 (docker 가 없으면 건너뜀)
+@Testcontainers(disabledWithoutDocker = true)
+class RedisNotificationBusTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private final List<Node> nodes = new ArrayList<>();
+    private RedisNotificationBus nodeA;
+    private RedisNotificationBus nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = start("node-a");
+        nodeB = start("node-b");
+        nodes.get(0).template.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Node node : nodes) {
+            node.container.stop();
+            node.connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void consultantNotificationReachesOtherNode() throws InterruptedException {
+        BlockingQueue<ConsultantNotification> received = new LinkedBlockingQueue<>();
+        nodeB.subscribe(received::add);
+
+        nodeA.publish(new ConsultantNotification(7L, nodeA.nextEventId(7L), "예약 알림"));
+
+        ConsultantNotification notification = received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(notification);
+        assertEquals(7L, notification.getConsultantId());
+        assertEquals("예약 알림", notification.getMessage());
+    }
+
+    @Test
+    void memberNotificationReachesOtherNode() throws InterruptedException {
+        BlockingQueue<MemberNotificationDTO> received = new LinkedBlockingQueue<>();
+        nodeB.subscribeMember(received::add);
+        LocalDateTime changedAt = LocalDateTime.of(2026, 10, 1, 12, 0);
+
+        nodeA.publishMember(MemberNotificationDTO.readSignal(3L, 11L, changedAt));
+
+        MemberNotificationDTO notification = received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(notification);
+        assertEquals(3L, notification.getMemberId());
+        assertEquals(11L, notification.getId());
+        assertEquals(changedAt, notification.getCreatedAt());
+    }
+
+    @Test
+    void eventIdsIncreaseAcrossNodes() {
+        long first = nodeA.nextEventId(7L);
+        long second = nodeB.nextEventId(7L);
+        long third = nodeA.nextEventId(7L);
+        assertTrue(first < second && second < third);
+    }
+
+    @Test
+    void presenceIsSharedBetweenNodes() {
+        assertFalse(nodeB.isOnline(7L));
+        nodeA.connected(7L);
+        assertTrue(nodeB.isOnline(7L));
+    }
+
+    @Test
+    void roomCapacityIsSharedBetweenNodes() {
+        assertTrue(nodeA.joinRoom("room-1", "cam-a", 2));
+        assertTrue(nodeB.joinRoom("room-1", "cam-b", 2));
+        // 이미 참여중인 camKey 는 다른 노드에서 다시 입장해도 성공
+        assertTrue(nodeB.joinRoom("room-1", "cam-a", 2));
+        assertFalse(nodeA.joinRoom("room-1", "cam-c", 2));
+
+        assertTrue(nodeB.leaveRoom("room-1", "cam-a"));
+        assertTrue(nodeA.joinRoom("room-1", "cam-c", 2));
+        assertFalse(nodeA.leaveRoom("room-2", "cam-a"));
+    }
+
+    // 서버 한대분 : 자기 연결과 pub/sub 리스너를 갖는 버스
+    private RedisNotificationBus start(String nodeId) {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.afterPropertiesSet();
+
+        RedisNotificationBus bus = new RedisNotificationBus(template, container,
+                Jackson2ObjectMapperBuilder.json().build(), mock(ConsultantSseFanout.class));
+        ReflectionTestUtils.setField(bus, "nodeId", nodeId);
+        ReflectionTestUtils.setField(bus, "presenceTtl", 30_000L);
+        ReflectionTestUtils.setField(bus, "roomTtlSeconds", 60L);
+        bus.init();
+        // 리스너를 등록한 뒤 시작 (구독이 끝날때까지 기다림)
+        container.start();
+        nodes.add(new Node(connectionFactory, template, container));
+        return bus;
+    }
+
+    private static final class Node {
+        private final LettuceConnectionFactory connectionFactory;
+        private final StringRedisTemplate template;
+        private final RedisMessageListenerContainer container;
+
+        private Node(LettuceConnectionFactory connectionFactory, StringRedisTemplate template,
+                     RedisMessageListenerContainer container) {
+            this.connectionFactory = connectionFactory;
+            this.template = template;
+            this.container = container;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.learnway.study.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.learnway.study.dto.PendingChatMessage;
+
+// 채팅 저장소 성능 비교 (LEARNWAY_CHAT_BENCHMARK=true 일때만 실행, 결과는 표준 출력)
+// - mmap : 임시 디렉토리에 로그를 만들어 기록/조회
+// - jpa : LEARNWAY_BENCHMARK_JDBC_URL 로 지정한 별도 스키마에 chat_message 테이블을 직접 만들어 기록/조회 후 삭제
+//   (운영/개발 DB 가 아닌 빈 스키마를 지정, 이미 chat_message 테이블이 있으면 건너뜀)
+// 같은 메세지 수/묶음 크기(write-behind batch-size 기본값)로 기록 처리량과 50개 페이지 조회 시간을 비교
+@EnabledIfEnvironmentVariable(named = "LEARNWAY_CHAT_BENCHMARK", matches = "true")
+class ChatMessageStoreBenchmarkTest {
+
+	private static final int MESSAGES = 20_000;
+	private static final int READS = 1_000;
+	private static final int BATCH_SIZE = 200;
+	private static final int PAGE_SIZE = 50;
+	private static final int ROOM_ID = 1;
+	private static final long MEMBER_ID = 1L;
+
+	private static final String CREATE_SQL = "CREATE TABLE chat_message ("
+			+ "chat_msg_id INT NOT NULL AUTO_INCREMENT PRIMARY KEY, study_chatroomid INT NOT NULL, id BIGINT NOT NULL, "
+			+ "chat_msg VARCHAR(255) NOT NULL, chat_date DATETIME(6) NOT NULL, chat_seq BIGINT, unread_count INT, "
+			+ "INDEX idx_chat_message_room (study_chatroomid, chat_msg_id))";
+	// ChatMessageRepository.findPageBySeq 와 같은 keyset 조회
+	private static final String PAGE_SQL = "SELECT chat_msg_id, chat_seq, chat_msg, chat_date FROM chat_message "
+			+ "WHERE study_chatroomid = ? AND (chat_seq < ? OR chat_seq IS NULL) ORDER BY chat_msg_id DESC LIMIT ?";
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void mappedChatLog() throws IOException {
+		List<PendingChatMessage> messages = generate();
+		try (MappedChatLog chatLog = MappedChatLog.open(dir, 64 * 1024 * 1024, true)) {
+			measure("mmap", messages, chatLog::append, beforeSeq -> chatLog.read(ROOM_ID, beforeSeq, PAGE_SIZE).size());
+			assertEquals(PAGE_SIZE, chatLog.read(ROOM_ID, null, PAGE_SIZE).size());
+		}
+	}
+
+	@Test
+	void jpaChatMessageStore() throws IOException {
+		String url = System.getenv("LEARNWAY_BENCHMARK_JDBC_URL");
+		assumeTrue(url != null && !url.isBlank(), "LEARNWAY_BENCHMARK_JDBC_URL 이 없어서 jpa 저장소는 건너뜀");
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(url,
+				System.getenv("LEARNWAY_BENCHMARK_JDBC_USER"), System.getenv("LEARNWAY_BENCHMARK_JDBC_PASSWORD"));
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.tables "
+				+ "WHERE table_schema = DATABASE() AND table_name = 'chat_message'", Integer.class);
+		assumeFalse(existing != null && existing > 0, "chat_message 테이블이 이미 있는 스키마에서는 실행하지 않음");
+
+		jdbcTemplate.execute(CREATE_SQL);
+		try {
+			// 기록 경로만 사용 (조회는 JPA 없이 같은 keyset 쿼리를 직접 실행)
+			JpaChatMessageStore store = new JpaChatMessageStore(jdbcTemplate, null, null);
+			measure("jpa", generate(), store::appendAll, beforeSeq -> jdbcTemplate.queryForList(PAGE_SQL, ROOM_ID, beforeSeq, PAGE_SIZE).size());
+		} finally {
+			jdbcTemplate.execute("DROP TABLE chat_message");
+		}
+	}
+
+	private void measure(String store, List<PendingChatMessage> messages, Writer writer, Reader reader) throws IOException {
+		long start = System.nanoTime();
+		for (int from = 0; from < messages.size(); from += BATCH_SIZE) {
+			writer.write(messages.subList(from, Math.min(from + BATCH_SIZE, messages.size())));
+		}
+		long writeNanos = System.nanoTime() - start;
+
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		start = System.nanoTime();
+		for (int i = 0; i < READS; i++) {
+			assertEquals(PAGE_SIZE, reader.read(PAGE_SIZE + 1 + random.nextLong(messages.size() - PAGE_SIZE)));
+		}
+		long readNanos = System.nanoTime() - start;
+
+		System.out.printf("채팅 저장소 비교 [%s] 기록 %d건 %dms (%d건/초, 묶음 %d), %d건 페이지 조회 %d회 평균 %dµs%n",
+				store, messages.size(), writeNanos / 1_000_000, messages.size() * 1_000_000_000L / Math.max(1, writeNanos),
+				BATCH_SIZE, PAGE_SIZE, READS, readNanos / 1_000 / READS);
+	}
+
+	private List<PendingChatMessage> generate() {
+		List<PendingChatMessage> messages = new ArrayList<>(MESSAGES);
+		LocalDateTime now = LocalDateTime.now().withNano(0);
+		for (int i = 1; i <= MESSAGES; i++) {
+			messages.add(new PendingChatMessage(ROOM_ID, i, MEMBER_ID, "benchmark", "채팅 저장소 비교용 메세지 " + i, now));
+		}
+		return messages;
+	}
+
+	private interface Writer {
+		void write(List<PendingChatMessage> batch) throws IOException;
+	}
+
+	private interface Reader {
+		int read(long beforeSeq) throws IOException;
+	}
+}
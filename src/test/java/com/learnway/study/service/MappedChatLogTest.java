@@ -0,0 +1,194 @@
+package com.learnway.study.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.learnway.study.dto.ChatMessageDto;
+import com.learnway.study.dto.PendingChatMessage;
+
+class MappedChatLogTest {
+
+	// 레코드 = 길이/crc 8 + 고정 필드 34 + 이름 + 내용
+	private static final int RECORD_OVERHEAD = 8 + 34;
+	// "m-000" 형식 메세지 5개가 들어가는 segment
+	private static final int SMALL_SEGMENT = 5 * record("name", "m-000");
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 1, 12, 0, 0);
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void appendAndReadPages() throws IOException {
+		try (MappedChatLog log = MappedChatLog.open(dir, 64 * 1024, true)) {
+			List<PendingChatMessage> batch = new ArrayList<>();
+			for (int seq = 1; seq <= 10; seq++) {
+				batch.add(message(1, seq, "m-" + seq, NOW.plusSeconds(seq)));
+			}
+			batch.add(message(2, 1, "다른 채팅방 메세지", NOW));
+			log.append(batch);
+
+			List<ChatMessageDto> latest = log.read(1, null, 3);
+			assertEquals(List.of(8L, 9L, 10L), seqs(latest));
+			assertEquals("m-10", latest.get(2).getMessage());
+			assertEquals("name", latest.get(2).getName());
+			assertEquals(NOW.plusSeconds(10), latest.get(2).getDatetime());
+
+			assertEquals(List.of(5L, 6L, 7L), seqs(log.read(1, 8L, 3)));
+			assertEquals(List.of(1L, 2L), seqs(log.read(1, 3L, 50)));
+			assertEquals("다른 채팅방 메세지", log.read(2, null, 50).get(0).getMessage());
+			assertTrue(log.read(3, null, 50).isEmpty());
+			assertEquals(10L, log.lastSeq(1));
+			assertEquals(0L, log.lastSeq(3));
+		}
+	}
+
+	@Test
+	void tornLastRecordIsDroppedOnRecovery() throws IOException {
+		try (MappedChatLog log = MappedChatLog.open(dir, 64 * 1024, true)) {
+			log.append(List.of(message(1, 1, "m-001", NOW), message(1, 2, "m-002", NOW), message(1, 3, "m-003", NOW)));
+		}
+		// 세번째 레코드 내용 마지막 바이트를 덮어써서 쓰다가 끊긴 레코드처럼 만듦 (crc 불일치)
+		int tornOffset = 2 * record("name", "m-001");
+		try (RandomAccessFile file = new RandomAccessFile(onlySegment().toFile(), "rw")) {
+			file.seek(tornOffset + record("name", "m-003") - 1);
+			file.write('X');
+		}
+
+		try (MappedChatLog log = MappedChatLog.open(dir, 64 * 1024, true)) {
+			assertEquals(List.of(1L, 2L), seqs(log.read(1, null, 50)));
+			// 끊긴 자리부터 이어서 기록
+			log.append(List.of(message(1, 4, "m-004", NOW)));
+		}
+		try (MappedChatLog log = MappedChatLog.open(dir, 64 * 1024, true)) {
+			List<ChatMessageDto> messages = log.read(1, null, 50);
+			assertEquals(List.of(1L, 2L, 4L), seqs(messages));
+			assertEquals("m-004", messages.get(2).getMessage());
+		}
+	}
+
+	@Test
+	void restartRebuildsIndexAcrossSegments() throws IOException {
+		try (MappedChatLog log = MappedChatLog.open(dir, SMALL_SEGMENT, true)) {
+			for (int seq = 1; seq <= 12; seq++) {
+				log.append(List.of(message(seq % 2 + 1, seq, String.format("m-%03d", seq), NOW.plusSeconds(seq))));
+			}
+			assertEquals(3, log.segmentCount());
+		}
+
+		try (MappedChatLog log = MappedChatLog.open(dir, SMALL_SEGMENT, true)) {
+			assertEquals(3, log.segmentCount());
+			assertEquals(List.of(1L, 3L, 5L, 7L, 9L, 11L), seqs(log.read(2, null, 50)));
+			assertEquals(List.of(2L, 4L, 6L, 8L, 10L, 12L), seqs(log.read(1, null, 50)));
+			assertEquals(NOW.plusSeconds(7), log.read(2, 9L, 1).get(0).getDatetime());
+			// 복구 후에도 마지막 segment 끝에 이어서 기록
+			log.append(List.of(message(1, 14, "m-014", NOW)));
+			assertEquals(List.of(12L, 14L), seqs(log.read(1, null, 2)));
+		}
+	}
+
+	@Test
+	void compactionMovesLiveRecordsAndDeletesSegment() throws IOException {
+		try (MappedChatLog log = MappedChatLog.open(dir, SMALL_SEGMENT, true)) {
+			for (int seq = 1; seq <= 5; seq++) {
+				log.append(List.of(message(1, seq, String.format("m-%03d", seq), NOW)));
+			}
+			// 1~4 번을 다시 기록 (보관 파일 재기록 등) : 첫 segment 에는 5번만 살아있음
+			for (int seq = 1; seq <= 4; seq++) {
+				log.append(List.of(message(1, seq, String.format("r-%03d", seq), NOW)));
+			}
+			Path first = firstSegment();
+			assertEquals(2, log.segmentCount());
+
+			assertEquals(1, log.compact(null, 0.5));
+			assertFalse(Files.exists(first));
+			assertEquals(1, log.segmentCount());
+			List<ChatMessageDto> messages = log.read(1, null, 50);
+			assertEquals(List.of(1L, 2L, 3L, 4L, 5L), seqs(messages));
+			assertEquals("r-001", messages.get(0).getMessage());
+			assertEquals("m-005", messages.get(4).getMessage());
+		}
+
+		// 옮겨진 레코드로 복구
+		try (MappedChatLog log = MappedChatLog.open(dir, SMALL_SEGMENT, true)) {
+			List<ChatMessageDto> messages = log.read(1, null, 50);
+			assertEquals(List.of(1L, 2L, 3L, 4L, 5L), seqs(messages));
+			assertEquals("m-005", messages.get(4).getMessage());
+		}
+	}
+
+	@Test
+	void compactionKeepsMostlyLiveSegments() throws IOException {
+		try (MappedChatLog log = MappedChatLog.open(dir, SMALL_SEGMENT, true)) {
+			for (int seq = 1; seq <= 7; seq++) {
+				log.append(List.of(message(1, seq, String.format("m-%03d", seq), NOW)));
+			}
+			assertEquals(0, log.compact(null, 0.5));
+			assertEquals(2, log.segmentCount());
+			assertEquals(7, log.read(1, null, 50).size());
+		}
+	}
+
+	@Test
+	void retentionDropsExpiredRecords() throws IOException {
+		LocalDateTime old = NOW.minusDays(30);
+		try (MappedChatLog log = MappedChatLog.open(dir, SMALL_SEGMENT, true)) {
+			for (int seq = 1; seq <= 5; seq++) {
+				log.append(List.of(message(1, seq, String.format("m-%03d", seq), old)));
+			}
+			log.append(List.of(message(2, 1, "m-001", old)));
+			for (int seq = 6; seq <= 8; seq++) {
+				log.append(List.of(message(1, seq, String.format("m-%03d", seq), NOW)));
+			}
+
+			assertEquals(1, log.compact(NOW.minusDays(7), 0.5));
+			assertEquals(List.of(6L, 7L, 8L), seqs(log.read(1, null, 50)));
+			// 현재 segment 는 정리 대상이 아님
+			assertEquals(List.of(1L), seqs(log.read(2, null, 50)));
+		}
+
+		try (MappedChatLog log = MappedChatLog.open(dir, SMALL_SEGMENT, true)) {
+			assertEquals(List.of(6L, 7L, 8L), seqs(log.read(1, null, 50)));
+		}
+	}
+
+	private Path onlySegment() throws IOException {
+		try (Stream<Path> files = Files.list(dir)) {
+			List<Path> segments = files.toList();
+			assertEquals(1, segments.size());
+			return segments.get(0);
+		}
+	}
+
+	private Path firstSegment() throws IOException {
+		try (Stream<Path> files = Files.list(dir)) {
+			return files.sorted().findFirst().orElseThrow();
+		}
+	}
+
+	private static PendingChatMessage message(int roomId, long seq, String text, LocalDateTime datetime) {
+		return new PendingChatMessage(roomId, seq, 7L, "name", text, datetime);
+	}
+
+	private static int record(String name, String text) {
+		return RECORD_OVERHEAD + name.getBytes(StandardCharsets.UTF_8).length + text.getBytes(StandardCharsets.UTF_8).length;
+	}
+
+	private static List<Long> seqs(List<ChatMessageDto> messages) {
+		return messages.stream().map(ChatMessageDto::getSeq).toList();
+	}
+}